@@ -0,0 +1,70 @@
+package com.booking.appointmentservice.benchmark;
+
+import com.booking.appointmentservice.model.Appointment;
+import com.booking.appointmentservice.model.AppointmentStatus;
+import com.booking.appointmentservice.repository.AppointmentRepository;
+import com.booking.appointmentservice.service.SlotOccupancyIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overlap check behind AppointmentServiceImpl.isTimeSlotAvailable, answered
+ * from the occupancy index for 200 doctors with a full 30-minute day.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotAvailabilityBenchmark {
+
+    private static final int DOCTORS = 200;
+    private static final int SLOTS_PER_DAY = 16;
+
+    private final LocalDate day = LocalDate.now().plusDays(1);
+    private SlotOccupancyIndex index;
+
+    @Setup
+    public void setUp() {
+        List<Appointment> appointments = new ArrayList<>();
+        long id = 0;
+        for (long doctor = 0; doctor < DOCTORS; doctor++) {
+            // Book every other slot so hits and misses are both realistic
+            for (int slot = 0; slot < SLOTS_PER_DAY; slot += 2) {
+                LocalTime start = LocalTime.of(8, 0).plusMinutes(30L * slot);
+                Appointment appointment = new Appointment(1L, doctor, day, start, start.plusMinutes(30), null);
+                appointment.setId(++id);
+                appointment.setStatus(AppointmentStatus.SCHEDULED);
+                appointments.add(appointment);
+            }
+        }
+        AppointmentRepository repository = (AppointmentRepository) Proxy.newProxyInstance(
+                AppointmentRepository.class.getClassLoader(),
+                new Class<?>[] {AppointmentRepository.class},
+                (proxy, method, args) -> appointments);
+        index = new SlotOccupancyIndex(repository);
+        index.rebuild();
+    }
+
+    @Benchmark
+    public boolean occupiedSlot() {
+        return index.isOccupied(97L, day, LocalTime.of(11, 0), LocalTime.of(11, 30), null);
+    }
+
+    @Benchmark
+    public boolean freeSlot() {
+        return index.isOccupied(97L, day, LocalTime.of(11, 30), LocalTime.of(12, 0), null);
+    }
+
+    @Benchmark
+    public boolean lastSlotOfDay() {
+        return index.isOccupied(97L, day, LocalTime.of(15, 30), LocalTime.of(16, 0), null);
+    }
+}
@@ -0,0 +1,108 @@
+package com.booking.appointmentservice.client;
+
+import com.booking.appointmentservice.dto.AppointmentContact;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Looks up the patient's email in user-service and the doctor's name in
+ * doctor-service, so appointment events carry what notification-service
+ * needs to send the email.
+ *
+ * user-service only answers for the caller's own account or for an admin,
+ * so the lookup forwards the Authorization header of the current request.
+ * Both answers are cached; a failed lookup is logged and left null rather
+ * than failing the booking.
+ */
+@Component
+public class AppointmentContactClient {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentContactClient.class);
+
+    private final RestClient userClient;
+    private final RestClient doctorClient;
+    private final Cache<Long, String> patientEmails;
+    private final Cache<Long, String> doctorNames;
+
+    @Autowired
+    public AppointmentContactClient(RestClient.Builder restClientBuilder,
+                                    @Value("${user-service.url:http://user-service:8083}") String userServiceUrl,
+                                    @Value("${doctor-service.url:http://doctor-service:8084}") String doctorServiceUrl,
+                                    @Value("${contact-lookup.timeout:PT2S}") Duration timeout,
+                                    @Value("${contact-lookup.cache-ttl:PT10M}") Duration ttl,
+                                    @Value("${contact-lookup.cache-max-entries:100000}") long maxEntries) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.userClient = restClientBuilder.clone().requestFactory(requestFactory).baseUrl(userServiceUrl).build();
+        this.doctorClient = restClientBuilder.clone().requestFactory(requestFactory).baseUrl(doctorServiceUrl).build();
+        this.patientEmails = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(ttl).build();
+        this.doctorNames = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(ttl).build();
+    }
+
+    public AppointmentContact resolve(Long userId, Long doctorId) {
+        String patientEmail = userId != null ? patientEmails.get(userId, this::fetchPatientEmail) : null;
+        String doctorName = doctorId != null ? doctorNames.get(doctorId, this::fetchDoctorName) : null;
+        return new AppointmentContact(patientEmail, doctorName);
+    }
+
+    private String fetchPatientEmail(Long userId) {
+        String authorization = callerAuthorization();
+        if (authorization == null) {
+            log.warn("No caller credentials to look up the email of user {}", userId);
+            return null;
+        }
+        try {
+            UserContact contact = userClient.get()
+                    .uri("/api/users/{id}/contact", userId)
+                    .header(HttpHeaders.AUTHORIZATION, authorization)
+                    .retrieve()
+                    .body(UserContact.class);
+            return contact != null ? contact.email() : null;
+        } catch (RestClientException e) {
+            log.warn("Could not look up the email of user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private String fetchDoctorName(Long doctorId) {
+        try {
+            DoctorSummary doctor = doctorClient.get()
+                    .uri("/api/doctors/{id}", doctorId)
+                    .retrieve()
+                    .body(DoctorSummary.class);
+            return doctor != null ? doctor.name() : null;
+        } catch (RestClientException e) {
+            log.warn("Could not look up the name of doctor {}: {}", doctorId, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String callerAuthorization() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+        }
+        return null;
+    }
+
+    private record UserContact(String email) {
+    }
+
+    private record DoctorSummary(String name) {
+    }
+}
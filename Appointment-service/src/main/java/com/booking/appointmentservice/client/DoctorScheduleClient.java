@@ -0,0 +1,163 @@
+package com.booking.appointmentservice.client;
+
+import com.booking.appointmentservice.dto.CalendarSlot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fetches a doctor's bookable slots from doctor-service's materialized
+ * calendar, so holidays and schedule exceptions are already left out, and
+ * caches them per doctor and day as slot offsets. A miss fetches all missing
+ * days of the range at once, split only by the endpoint's range limit.
+ * Calendar edits show up once the short TTL expires; the cache is bounded by
+ * the number of doctor-days it holds, dropping the least used ones.
+ */
+@Component
+public class DoctorScheduleClient {
+
+    // doctor-service rejects wider /slots ranges
+    private static final int MAX_DAYS_PER_REQUEST = 92;
+
+    private final RestClient restClient;
+    private final Cache<DoctorDay, int[][]> cache;
+
+    @Autowired
+    public DoctorScheduleClient(RestClient.Builder restClientBuilder,
+                                @Value("${doctor-service.url:http://doctor-service:8084}") String doctorServiceUrl,
+                                @Value("${availability.slot-cache-ttl:PT5M}") Duration ttl,
+                                @Value("${availability.slot-cache-max-days:1000000}") long maxDays) {
+        this(restClientBuilder.baseUrl(doctorServiceUrl).build(), ttl, maxDays, Ticker.systemTicker());
+    }
+
+    DoctorScheduleClient(RestClient restClient, Duration ttl, long maxDays, Ticker ticker) {
+        this.restClient = restClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Returns the doctor's slots for each day from {@code from} to {@code to},
+     * loading the days that are not cached from doctor-service.
+     */
+    public CalendarSlots getSlots(Long doctorId, LocalDate from, LocalDate to) {
+        List<DoctorDay> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            days.add(new DoctorDay(doctorId, date));
+        }
+        Map<LocalDate, int[][]> byDate = new HashMap<>();
+        cache.getAll(days, this::fetchSlots).forEach((day, slots) -> byDate.put(day.date(), slots));
+        return new CalendarSlots(byDate);
+    }
+
+    public void evict(Long doctorId) {
+        cache.asMap().keySet().removeIf(day -> day.doctorId().equals(doctorId));
+    }
+
+    // Size eviction runs asynchronously; tests call cleanUp() before counting
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    long cachedDays() {
+        return cache.estimatedSize();
+    }
+
+    // Every missing day gets an entry, so days without slots are cached too
+    private Map<DoctorDay, int[][]> fetchSlots(Set<? extends DoctorDay> missing) {
+        Long doctorId = missing.iterator().next().doctorId();
+        LocalDate first = missing.stream().map(DoctorDay::date).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate last = missing.stream().map(DoctorDay::date).max(Comparator.naturalOrder()).orElseThrow();
+
+        List<CalendarSlot> slots = new ArrayList<>();
+        for (LocalDate from = first; !from.isAfter(last); from = from.plusDays(MAX_DAYS_PER_REQUEST)) {
+            LocalDate to = from.plusDays(MAX_DAYS_PER_REQUEST - 1);
+            slots.addAll(fetchRange(doctorId, from, to.isAfter(last) ? last : to));
+        }
+        CalendarSlots calendar = CalendarSlots.of(slots);
+
+        Map<DoctorDay, int[][]> loaded = new HashMap<>();
+        for (DoctorDay day : missing) {
+            loaded.put(day, calendar.slotsOn(day.date()));
+        }
+        return loaded;
+    }
+
+    private List<CalendarSlot> fetchRange(Long doctorId, LocalDate from, LocalDate to) {
+        List<CalendarSlot> slots = restClient.get()
+                .uri("/api/doctors/{doctorId}/slots?from={from}&to={to}", doctorId, from, to)
+                .retrieve()
+                .body(new ParameterizedTypeReference<List<CalendarSlot>>() {});
+        return slots != null ? slots : List.of();
+    }
+
+    private record DoctorDay(Long doctorId, LocalDate date) {
+    }
+
+    /**
+     * Slot start/end offsets (second of day) for each date, sorted by start.
+     */
+    public static final class CalendarSlots {
+
+        private static final int[][] NONE = new int[][] {new int[0], new int[0]};
+
+        private final Map<LocalDate, int[][]> byDate;
+
+        private CalendarSlots(Map<LocalDate, int[][]> byDate) {
+            this.byDate = byDate;
+        }
+
+        public static CalendarSlots of(List<CalendarSlot> slots) {
+            Map<LocalDate, List<CalendarSlot>> collected = new HashMap<>();
+            for (CalendarSlot slot : slots) {
+                collected.computeIfAbsent(slot.getDate(), d -> new ArrayList<>()).add(slot);
+            }
+            Map<LocalDate, int[][]> byDate = new HashMap<>();
+            collected.forEach((date, daySlots) -> {
+                daySlots.sort(Comparator.comparing(CalendarSlot::getStartTime));
+                int[] starts = new int[daySlots.size()];
+                int[] ends = new int[daySlots.size()];
+                for (int i = 0; i < daySlots.size(); i++) {
+                    starts[i] = daySlots.get(i).getStartTime().toSecondOfDay();
+                    ends[i] = daySlots.get(i).getEndTime().toSecondOfDay();
+                }
+                byDate.put(date, new int[][] {starts, ends});
+            });
+            return new CalendarSlots(byDate);
+        }
+
+        private int[][] slotsOn(LocalDate date) {
+            return byDate.getOrDefault(date, NONE);
+        }
+
+        public int[] starts(LocalDate date) {
+            return slotsOn(date)[0];
+        }
+
+        public int[] ends(LocalDate date) {
+            return slotsOn(date)[1];
+        }
+
+        public static LocalTime toTime(int secondOfDay) {
+            return LocalTime.ofSecondOfDay(secondOfDay);
+        }
+    }
+}
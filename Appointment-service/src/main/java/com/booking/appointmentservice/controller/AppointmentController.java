@@ -1,26 +1,45 @@
 package com.booking.appointmentservice.controller;
 
+import com.booking.appointmentservice.dto.AppointmentCursor;
+import com.booking.appointmentservice.dto.AppointmentPage;
+import com.booking.appointmentservice.dto.FreeSlot;
+import com.booking.appointmentservice.dto.InvalidCursorException;
 import com.booking.appointmentservice.model.Appointment;
 import com.booking.appointmentservice.model.AppointmentStatus;
 import com.booking.appointmentservice.service.AppointmentService;
+import com.booking.appointmentservice.service.BookingResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/appointments")
 public class AppointmentController {
 
+    private static final long MAX_FREE_SLOT_RANGE_DAYS = 92;
+
     private final AppointmentService appointmentService;
+    private final ObjectWriter freeSlotWriter;
+    private final ObjectWriter appointmentWriter;
 
     @Autowired
-    public AppointmentController(AppointmentService appointmentService) {
+    public AppointmentController(AppointmentService appointmentService, ObjectMapper objectMapper) {
         this.appointmentService = appointmentService;
+        this.freeSlotWriter = objectMapper.writerFor(FreeSlot.class);
+        this.appointmentWriter = objectMapper.writerFor(Appointment.class);
     }
 
     @GetMapping
@@ -28,6 +47,18 @@ public class AppointmentController {
         return ResponseEntity.ok(appointmentService.getAllAppointments());
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<AppointmentPage> getAllAppointmentsPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(appointmentService.getAllAppointments(decodeCursor(cursor), limit));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllAppointments() {
+        return ndjson(out -> appointmentService.streamAllAppointments(a -> writeLine(appointmentWriter, out, a)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Appointment> getAppointmentById(@PathVariable Long id) {
         return appointmentService.getAppointmentById(id)
@@ -37,12 +68,11 @@ public class AppointmentController {
 
     @PostMapping
     public ResponseEntity<Appointment> bookAppointment(@RequestBody Appointment appointment) {
-        try {
-            Appointment bookedAppointment = appointmentService.bookAppointment(appointment);
-            return ResponseEntity.status(HttpStatus.CREATED).body(bookedAppointment);
-        } catch (RuntimeException e) {
+        BookingResult result = appointmentService.bookAppointment(appointment);
+        if (!result.isBooked()) {
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
+        return ResponseEntity.status(HttpStatus.CREATED).body(result.getAppointment());
     }
 
     @PutMapping("/{id}")
@@ -50,7 +80,11 @@ public class AppointmentController {
             @PathVariable Long id, 
             @RequestBody Appointment appointment) {
         try {
-            return ResponseEntity.ok(appointmentService.updateAppointment(id, appointment));
+            BookingResult result = appointmentService.updateAppointment(id, appointment);
+            if (!result.isBooked()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            return ResponseEntity.ok(result.getAppointment());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
@@ -71,6 +105,20 @@ public class AppointmentController {
         return ResponseEntity.ok(appointmentService.getUserAppointments(userId));
     }
 
+    @GetMapping(value = "/user/{userId}", params = "limit")
+    public ResponseEntity<AppointmentPage> getUserAppointmentsPage(
+            @PathVariable Long userId,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(appointmentService.getUserAppointments(userId, decodeCursor(cursor), limit));
+    }
+
+    @GetMapping(value = "/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserAppointments(@PathVariable Long userId) {
+        return ndjson(out -> appointmentService.streamUserAppointments(
+                userId, a -> writeLine(appointmentWriter, out, a)));
+    }
+
     @GetMapping("/user/{userId}/status/{status}")
     public ResponseEntity<List<Appointment>> getUserAppointmentsByStatus(
             @PathVariable Long userId,
@@ -83,6 +131,20 @@ public class AppointmentController {
         return ResponseEntity.ok(appointmentService.getDoctorAppointments(doctorId));
     }
 
+    @GetMapping(value = "/doctor/{doctorId}", params = "limit")
+    public ResponseEntity<AppointmentPage> getDoctorAppointmentsPage(
+            @PathVariable Long doctorId,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(appointmentService.getDoctorAppointments(doctorId, decodeCursor(cursor), limit));
+    }
+
+    @GetMapping(value = "/doctor/{doctorId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDoctorAppointments(@PathVariable Long doctorId) {
+        return ndjson(out -> appointmentService.streamDoctorAppointments(
+                doctorId, a -> writeLine(appointmentWriter, out, a)));
+    }
+
     @GetMapping("/doctor/{doctorId}/date/{date}")
     public ResponseEntity<List<Appointment>> getDoctorAppointmentsByDate(
             @PathVariable Long doctorId,
@@ -107,6 +169,29 @@ public class AppointmentController {
                 doctorId, date, java.time.LocalTime.parse(startTime), java.time.LocalTime.parse(endTime)));
     }
 
+    @GetMapping("/doctor/{doctorId}/free-slots")
+    public ResponseEntity<List<FreeSlot>> getFreeSlots(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!isValidRange(from, to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(appointmentService.getFreeSlots(doctorId, from, to));
+    }
+
+    @GetMapping(value = "/doctor/{doctorId}/free-slots", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFreeSlots(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!isValidRange(from, to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ndjson(out -> appointmentService.streamFreeSlots(
+                doctorId, from, to, slot -> writeLine(freeSlotWriter, out, slot)));
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<Appointment> updateAppointmentStatus(
             @PathVariable Long id,
@@ -117,4 +202,30 @@ public class AppointmentController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    private static boolean isValidRange(LocalDate from, LocalDate to) {
+        return !to.isBefore(from) && ChronoUnit.DAYS.between(from, to) < MAX_FREE_SLOT_RANGE_DAYS;
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Void> handleInvalidCursor(InvalidCursorException e) {
+        return ResponseEntity.badRequest().build();
+    }
+
+    private static AppointmentCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isEmpty() ? null : AppointmentCursor.decode(cursor);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private static void writeLine(ObjectWriter writer, OutputStream out, Object value) {
+        try {
+            out.write(writer.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.booking.appointmentservice.dto;
+
+/**
+ * Who a notification about an appointment goes to and which doctor it
+ * names. Either part is null when it could not be looked up.
+ */
+public class AppointmentContact {
+
+    public static final AppointmentContact UNKNOWN = new AppointmentContact(null, null);
+
+    private final String patientEmail;
+    private final String doctorName;
+
+    public AppointmentContact(String patientEmail, String doctorName) {
+        this.patientEmail = patientEmail;
+        this.doctorName = doctorName;
+    }
+
+    public String getPatientEmail() {
+        return patientEmail;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+}
@@ -0,0 +1,56 @@
+package com.booking.appointmentservice.dto;
+
+import com.booking.appointmentservice.model.Appointment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+
+/**
+ * Keyset position on (date, startTime, id), exchanged with clients as an
+ * opaque URL-safe token.
+ */
+public class AppointmentCursor {
+
+    private final LocalDate date;
+    private final LocalTime startTime;
+    private final Long id;
+
+    public AppointmentCursor(LocalDate date, LocalTime startTime, Long id) {
+        this.date = date;
+        this.startTime = startTime;
+        this.id = id;
+    }
+
+    public static AppointmentCursor after(Appointment appointment) {
+        return new AppointmentCursor(appointment.getDate(), appointment.getStartTime(), appointment.getId());
+    }
+
+    public static AppointmentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            return new AppointmentCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = date + "|" + startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,68 @@
+package com.booking.appointmentservice.dto;
+
+import com.booking.appointmentservice.model.Appointment;
+
+/**
+ * Payload published on the appointment lifecycle topics. Field names match
+ * the AppointmentEvent consumed by notification-service.
+ */
+public class AppointmentEvent {
+
+    private final Long appointmentId;
+    private final Long patientId;
+    private final String patientEmail;
+    private final Long doctorId;
+    private final String doctorName;
+    private final String appointmentDate;
+    private final String appointmentTime;
+    private final String status;
+    private final Long version;
+
+    public AppointmentEvent(Appointment appointment, AppointmentContact contact) {
+        this.appointmentId = appointment.getId();
+        this.patientId = appointment.getUserId();
+        this.patientEmail = contact.getPatientEmail();
+        this.doctorId = appointment.getDoctorId();
+        this.doctorName = contact.getDoctorName();
+        this.appointmentDate = String.valueOf(appointment.getDate());
+        this.appointmentTime = String.valueOf(appointment.getStartTime());
+        this.status = String.valueOf(appointment.getStatus());
+        this.version = appointment.getVersion();
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public String getPatientEmail() {
+        return patientEmail;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public String getAppointmentDate() {
+        return appointmentDate;
+    }
+
+    public String getAppointmentTime() {
+        return appointmentTime;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,24 @@
+package com.booking.appointmentservice.dto;
+
+import com.booking.appointmentservice.model.Appointment;
+
+import java.util.List;
+
+public class AppointmentPage {
+
+    private final List<Appointment> items;
+    private final String nextCursor;
+
+    public AppointmentPage(List<Appointment> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Appointment> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,48 @@
+package com.booking.appointmentservice.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Concrete slot from doctor-service's calendar, with holidays and schedule
+ * exceptions already left out.
+ */
+public class CalendarSlot {
+
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+
+    public CalendarSlot() {
+    }
+
+    public CalendarSlot(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+}
@@ -0,0 +1,9 @@
+package com.booking.appointmentservice.dto;
+
+// A page cursor that was not issued by this service; answered with 400
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String token, Throwable cause) {
+        super("Invalid cursor: " + token, cause);
+    }
+}
@@ -40,6 +40,10 @@ public class Appointment {
     @Column(name = "updated_at")
     private LocalDate updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Constructors
     public Appointment() {
     }
@@ -134,6 +138,10 @@ public class Appointment {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDate.now();
@@ -2,18 +2,40 @@ package com.booking.appointmentservice.repository;
 
 import com.booking.appointmentservice.model.Appointment;
 import com.booking.appointmentservice.model.AppointmentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
     
+    // Row-value comparison, so the (…, date, start_time, id) indexes are scanned as a range
+    String KEYSET_AFTER = "(a.date, a.startTime, a.id) > (:date, :startTime, :id)";
+    
+    String KEYSET_ORDER = " ORDER BY a.date, a.startTime, a.id";
+    
+    String STREAM_FETCH_SIZE = "500";
+    
+    // Half-open period overlap, matched by ix_appointments_doctor_active_period
+    String SLOT_OVERLAP_MATCH = "SELECT 1 FROM appointments a " +
+            "WHERE a.doctor_id = :doctorId " +
+            "AND a.status NOT IN ('CANCELLED', 'COMPLETED') " +
+            "AND tsrange(a.date + a.start_time, a.date + a.end_time) && " +
+            "tsrange(CAST(:date AS date) + CAST(:startTime AS time), CAST(:date AS date) + CAST(:endTime AS time))";
+    
+    String SLOT_OVERLAP_SQL = "SELECT EXISTS (" + SLOT_OVERLAP_MATCH + ")";
+    
     List<Appointment> findByUserId(Long userId);
     
     List<Appointment> findByDoctorId(Long doctorId);
@@ -24,19 +46,78 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     
     List<Appointment> findByDateAndDoctorId(LocalDate date, Long doctorId);
     
+    List<Appointment> findByDateGreaterThanEqualAndStatusNotIn(LocalDate date, Collection<AppointmentStatus> statuses);
+    
+    List<Appointment> findByDoctorIdAndDateBetweenAndStatusNotIn(
+            Long doctorId, LocalDate from, LocalDate to, Collection<AppointmentStatus> statuses);
+    
     @Query("SELECT a FROM Appointment a WHERE a.doctorId = :doctorId AND a.date = :date AND a.status != 'CANCELLED'")
     List<Appointment> findActiveDoctorAppointmentsByDate(
             @Param("doctorId") Long doctorId, 
             @Param("date") LocalDate date);
     
-    @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM Appointment a " +
-           "WHERE a.doctorId = :doctorId AND a.date = :date AND " +
-           "((a.startTime <= :endTime AND a.endTime >= :startTime) OR " +
-           "(a.startTime >= :startTime AND a.startTime < :endTime)) AND " +
-           "a.status NOT IN ('CANCELLED', 'COMPLETED')")
+    @Query(value = SLOT_OVERLAP_SQL, nativeQuery = true)
     boolean isTimeSlotBooked(
             @Param("doctorId") Long doctorId,
             @Param("date") LocalDate date,
             @Param("startTime") LocalTime startTime,
             @Param("endTime") LocalTime endTime);
+    
+    // The same check ignoring one appointment, for reschedules
+    @Query(value = "SELECT EXISTS (" + SLOT_OVERLAP_MATCH + " AND a.id <> :excludeId)", nativeQuery = true)
+    boolean isTimeSlotBookedExcluding(
+            @Param("doctorId") Long doctorId,
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime,
+            @Param("excludeId") Long excludeId);
+    
+    // Keyset pagination on (date, startTime, id)
+    List<Appointment> findAllByOrderByDateAscStartTimeAscIdAsc(Limit limit);
+    
+    List<Appointment> findByUserIdOrderByDateAscStartTimeAscIdAsc(Long userId, Limit limit);
+    
+    List<Appointment> findByDoctorIdOrderByDateAscStartTimeAscIdAsc(Long doctorId, Limit limit);
+    
+    @Query("SELECT a FROM Appointment a WHERE " + KEYSET_AFTER + KEYSET_ORDER)
+    List<Appointment> findAllAfter(
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("id") Long id,
+            Limit limit);
+    
+    @Query("SELECT a FROM Appointment a WHERE a.userId = :userId AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<Appointment> findByUserIdAfter(
+            @Param("userId") Long userId,
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("id") Long id,
+            Limit limit);
+    
+    @Query("SELECT a FROM Appointment a WHERE a.doctorId = :doctorId AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<Appointment> findByDoctorIdAfter(
+            @Param("doctorId") Long doctorId,
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("id") Long id,
+            Limit limit);
+    
+    // Cursor-backed streams; callers must consume them inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Appointment> streamAllByOrderByDateAscStartTimeAscIdAsc();
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Appointment> streamByUserIdOrderByDateAscStartTimeAscIdAsc(Long userId);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Appointment> streamByDoctorIdOrderByDateAscStartTimeAscIdAsc(Long doctorId);
 }
\ No newline at end of file
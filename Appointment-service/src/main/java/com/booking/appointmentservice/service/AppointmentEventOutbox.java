@@ -0,0 +1,58 @@
+package com.booking.appointmentservice.service;
+
+import com.booking.appointmentservice.dto.AppointmentContact;
+import com.booking.appointmentservice.dto.AppointmentEvent;
+import com.booking.appointmentservice.model.Appointment;
+import com.booking.appointmentservice.model.OutboxEvent;
+import com.booking.appointmentservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records appointment lifecycle events in the outbox table. Must run inside
+ * the transaction that changes the appointment, so the event is stored if
+ * and only if the change commits. The appointment must already be flushed,
+ * so the event carries the version the change produced. The contact is
+ * looked up by the caller, ideally before the transaction starts, so no
+ * remote call holds it open.
+ */
+@Component
+public class AppointmentEventOutbox {
+
+    public static final String APPOINTMENT_CREATED_TOPIC = "appointment-created";
+    public static final String APPOINTMENT_CANCELLED_TOPIC = "appointment-cancelled";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectWriter eventWriter;
+
+    @Autowired
+    public AppointmentEventOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventWriter = objectMapper.writerFor(AppointmentEvent.class);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appointmentCreated(Appointment appointment, AppointmentContact contact) {
+        record(APPOINTMENT_CREATED_TOPIC, appointment, contact);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appointmentCancelled(Appointment appointment, AppointmentContact contact) {
+        record(APPOINTMENT_CANCELLED_TOPIC, appointment, contact);
+    }
+
+    private void record(String topic, Appointment appointment, AppointmentContact contact) {
+        try {
+            String payload = eventWriter.writeValueAsString(new AppointmentEvent(appointment, contact));
+            // Keyed by appointment so every event of one appointment lands on the same partition
+            outboxEventRepository.save(new OutboxEvent(topic, String.valueOf(appointment.getId()), payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize appointment event", e);
+        }
+    }
+}
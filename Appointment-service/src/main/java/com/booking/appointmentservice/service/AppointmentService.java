@@ -1,5 +1,8 @@
 package com.booking.appointmentservice.service;
 
+import com.booking.appointmentservice.dto.AppointmentCursor;
+import com.booking.appointmentservice.dto.AppointmentPage;
+import com.booking.appointmentservice.dto.FreeSlot;
 import com.booking.appointmentservice.model.Appointment;
 import com.booking.appointmentservice.model.AppointmentStatus;
 
@@ -7,6 +10,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface AppointmentService {
     
@@ -15,12 +19,26 @@ public interface AppointmentService {
     
     Optional<Appointment> getAppointmentById(Long id);
     
-    Appointment bookAppointment(Appointment appointment);
+    BookingResult bookAppointment(Appointment appointment);
     
-    Appointment updateAppointment(Long id, Appointment appointment);
+    // Not found is still an exception; a taken target slot is a SLOT_UNAVAILABLE result
+    BookingResult updateAppointment(Long id, Appointment appointment);
     
     void cancelAppointment(Long id);
     
+    // Keyset-paginated and streaming reads
+    AppointmentPage getAllAppointments(AppointmentCursor cursor, int limit);
+    
+    AppointmentPage getUserAppointments(Long userId, AppointmentCursor cursor, int limit);
+    
+    AppointmentPage getDoctorAppointments(Long doctorId, AppointmentCursor cursor, int limit);
+    
+    void streamAllAppointments(Consumer<Appointment> consumer);
+    
+    void streamUserAppointments(Long userId, Consumer<Appointment> consumer);
+    
+    void streamDoctorAppointments(Long doctorId, Consumer<Appointment> consumer);
+    
     // User-specific operations
     List<Appointment> getUserAppointments(Long userId);
     
@@ -36,6 +54,10 @@ public interface AppointmentService {
     // Availability check
     boolean isTimeSlotAvailable(Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime);
     
+    List<FreeSlot> getFreeSlots(Long doctorId, LocalDate from, LocalDate to);
+    
+    void streamFreeSlots(Long doctorId, LocalDate from, LocalDate to, Consumer<FreeSlot> consumer);
+    
     // Status management
     Appointment updateAppointmentStatus(Long id, AppointmentStatus status);
 }
\ No newline at end of file
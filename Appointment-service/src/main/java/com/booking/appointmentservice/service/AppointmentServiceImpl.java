@@ -1,25 +1,63 @@
 package com.booking.appointmentservice.service;
 
+import com.booking.appointmentservice.client.AppointmentContactClient;
+import com.booking.appointmentservice.client.DoctorScheduleClient;
+import com.booking.appointmentservice.dto.AppointmentContact;
+import com.booking.appointmentservice.dto.AppointmentCursor;
+import com.booking.appointmentservice.dto.AppointmentPage;
+import com.booking.appointmentservice.dto.FreeSlot;
 import com.booking.appointmentservice.model.Appointment;
 import com.booking.appointmentservice.model.AppointmentStatus;
 import com.booking.appointmentservice.repository.AppointmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class AppointmentServiceImpl implements AppointmentService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private final AppointmentRepository appointmentRepository;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final BookingEngine bookingEngine;
+    private final DoctorScheduleClient doctorScheduleClient;
+    private final AppointmentEventOutbox appointmentEventOutbox;
+    private final AppointmentContactClient appointmentContactClient;
+    private final TransactionOperations transactionOperations;
 
     @Autowired
-    public AppointmentServiceImpl(AppointmentRepository appointmentRepository) {
+    public AppointmentServiceImpl(AppointmentRepository appointmentRepository,
+                                  SlotOccupancyIndex slotOccupancyIndex,
+                                  BookingEngine bookingEngine,
+                                  DoctorScheduleClient doctorScheduleClient,
+                                  AppointmentEventOutbox appointmentEventOutbox,
+                                  AppointmentContactClient appointmentContactClient,
+                                  TransactionOperations transactionOperations) {
         this.appointmentRepository = appointmentRepository;
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.bookingEngine = bookingEngine;
+        this.doctorScheduleClient = doctorScheduleClient;
+        this.appointmentEventOutbox = appointmentEventOutbox;
+        this.appointmentContactClient = appointmentContactClient;
+        this.transactionOperations = transactionOperations;
     }
 
     @Override
@@ -33,32 +71,33 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
-    @Transactional
-    public Appointment bookAppointment(Appointment appointment) {
-        // Check if the time slot is available before booking
-        if (!isTimeSlotAvailable(appointment.getDoctorId(), appointment.getDate(), 
-                appointment.getStartTime(), appointment.getEndTime())) {
-            throw new RuntimeException("The selected time slot is not available");
-        }
-        
-        // Set initial status and save
-        appointment.setStatus(AppointmentStatus.SCHEDULED);
-        return appointmentRepository.save(appointment);
+    public BookingResult bookAppointment(Appointment appointment) {
+        // Looked up before the doctor-day lock is taken, not while holding it
+        return bookingEngine.book(appointment,
+                appointmentContactClient.resolve(appointment.getUserId(), appointment.getDoctorId()));
     }
 
     @Override
-    @Transactional
-    public Appointment updateAppointment(Long id, Appointment appointment) {
-        return appointmentRepository.findById(id)
+    public BookingResult updateAppointment(Long id, Appointment appointment) {
+        Appointment current = appointmentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
+        // A PUT that cancels goes through the same transition as cancelAppointment
+        AppointmentContact contact = appointment.getStatus() == AppointmentStatus.CANCELLED
+                ? appointmentContactClient.resolve(current.getUserId(), current.getDoctorId())
+                : null;
+
+        // Lock the target doctor-day so a reschedule cannot race a new booking
+        return bookingEngine.runLocked(current.getDoctorId(), appointment.getDate(), () ->
+                appointmentRepository.findById(id)
                 .map(existingAppointment -> {
                     // Check if the new time slot is available (if time is being changed)
                     if (!existingAppointment.getStartTime().equals(appointment.getStartTime()) ||
                         !existingAppointment.getEndTime().equals(appointment.getEndTime()) ||
                         !existingAppointment.getDate().equals(appointment.getDate())) {
                         
-                        if (!isTimeSlotAvailable(appointment.getDoctorId(), appointment.getDate(),
-                                appointment.getStartTime(), appointment.getEndTime())) {
-                            throw new RuntimeException("The selected time slot is not available");
+                        if (bookingEngine.isSlotBooked(existingAppointment.getDoctorId(), appointment.getDate(),
+                                appointment.getStartTime(), appointment.getEndTime(), id)) {
+                            return BookingResult.slotUnavailable();
                         }
                     }
                     
@@ -67,22 +106,85 @@ public class AppointmentServiceImpl implements AppointmentService {
                     existingAppointment.setStartTime(appointment.getStartTime());
                     existingAppointment.setEndTime(appointment.getEndTime());
                     existingAppointment.setReason(appointment.getReason());
-                    existingAppointment.setStatus(appointment.getStatus());
-                    
-                    return appointmentRepository.save(existingAppointment);
+
+                    return BookingResult.booked(saveWithStatus(existingAppointment, appointment.getStatus(), contact));
                 })
-                .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
+                .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id)));
     }
 
     @Override
-    @Transactional
     public void cancelAppointment(Long id) {
-        appointmentRepository.findById(id)
-                .map(appointment -> {
-                    appointment.setStatus(AppointmentStatus.CANCELLED);
-                    return appointmentRepository.save(appointment);
-                })
-                .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
+        changeStatus(id, AppointmentStatus.CANCELLED);
+    }
+
+    @Override
+    public AppointmentPage getAllAppointments(AppointmentCursor cursor, int limit) {
+        Limit fetch = pageFetchLimit(limit);
+        List<Appointment> rows = cursor == null
+                ? appointmentRepository.findAllByOrderByDateAscStartTimeAscIdAsc(fetch)
+                : appointmentRepository.findAllAfter(cursor.getDate(), cursor.getStartTime(), cursor.getId(), fetch);
+        return toPage(rows, fetch.max() - 1);
+    }
+
+    @Override
+    public AppointmentPage getUserAppointments(Long userId, AppointmentCursor cursor, int limit) {
+        Limit fetch = pageFetchLimit(limit);
+        List<Appointment> rows = cursor == null
+                ? appointmentRepository.findByUserIdOrderByDateAscStartTimeAscIdAsc(userId, fetch)
+                : appointmentRepository.findByUserIdAfter(
+                        userId, cursor.getDate(), cursor.getStartTime(), cursor.getId(), fetch);
+        return toPage(rows, fetch.max() - 1);
+    }
+
+    @Override
+    public AppointmentPage getDoctorAppointments(Long doctorId, AppointmentCursor cursor, int limit) {
+        Limit fetch = pageFetchLimit(limit);
+        List<Appointment> rows = cursor == null
+                ? appointmentRepository.findByDoctorIdOrderByDateAscStartTimeAscIdAsc(doctorId, fetch)
+                : appointmentRepository.findByDoctorIdAfter(
+                        doctorId, cursor.getDate(), cursor.getStartTime(), cursor.getId(), fetch);
+        return toPage(rows, fetch.max() - 1);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllAppointments(Consumer<Appointment> consumer) {
+        drain(appointmentRepository.streamAllByOrderByDateAscStartTimeAscIdAsc(), consumer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamUserAppointments(Long userId, Consumer<Appointment> consumer) {
+        drain(appointmentRepository.streamByUserIdOrderByDateAscStartTimeAscIdAsc(userId), consumer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamDoctorAppointments(Long doctorId, Consumer<Appointment> consumer) {
+        drain(appointmentRepository.streamByDoctorIdOrderByDateAscStartTimeAscIdAsc(doctorId), consumer);
+    }
+
+    // One extra row tells whether another page exists
+    private static Limit pageFetchLimit(int limit) {
+        return Limit.of(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)) + 1);
+    }
+
+    private static AppointmentPage toPage(List<Appointment> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new AppointmentPage(rows, null);
+        }
+        List<Appointment> items = rows.subList(0, pageSize);
+        return new AppointmentPage(items, AppointmentCursor.after(items.get(pageSize - 1)).encode());
+    }
+
+    // Detach each row once written so the persistence context stays empty
+    private void drain(Stream<Appointment> rows, Consumer<Appointment> consumer) {
+        try (rows) {
+            rows.forEach(appointment -> {
+                consumer.accept(appointment);
+                entityManager.detach(appointment);
+            });
+        }
     }
 
     @Override
@@ -112,17 +214,73 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     @Override
     public boolean isTimeSlotAvailable(Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime) {
-        return !appointmentRepository.isTimeSlotBooked(doctorId, date, startTime, endTime);
+        return !bookingEngine.isSlotTaken(doctorId, date, startTime, endTime, null);
+    }
+
+    @Override
+    public List<FreeSlot> getFreeSlots(Long doctorId, LocalDate from, LocalDate to) {
+        List<FreeSlot> slots = new ArrayList<>();
+        streamFreeSlots(doctorId, from, to, slots::add);
+        return slots;
+    }
+
+    @Override
+    public void streamFreeSlots(Long doctorId, LocalDate from, LocalDate to, Consumer<FreeSlot> consumer) {
+        DoctorScheduleClient.CalendarSlots calendar = doctorScheduleClient.getSlots(doctorId, from, to);
+
+        // Dates the occupancy index cannot answer are loaded in one query for the whole range
+        Map<LocalDate, List<Appointment>> uncovered = new HashMap<>();
+        if (!slotOccupancyIndex.covers(from)) {
+            appointmentRepository.findByDoctorIdAndDateBetweenAndStatusNotIn(
+                            doctorId, from, to, SlotOccupancyIndex.INACTIVE_STATUSES)
+                    .forEach(a -> uncovered.computeIfAbsent(a.getDate(), d -> new ArrayList<>()).add(a));
+        }
+
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            int[] starts = calendar.starts(date);
+            int[] ends = calendar.ends(date);
+            boolean indexed = slotOccupancyIndex.covers(date);
+            List<Appointment> booked = uncovered.getOrDefault(date, List.of());
+            for (int i = 0; i < starts.length; i++) {
+                LocalTime start = DoctorScheduleClient.CalendarSlots.toTime(starts[i]);
+                LocalTime end = DoctorScheduleClient.CalendarSlots.toTime(ends[i]);
+                boolean taken = indexed
+                        ? slotOccupancyIndex.isOccupied(doctorId, date, start, end, null)
+                        : booked.stream().anyMatch(a -> a.getStartTime().isBefore(end) && a.getEndTime().isAfter(start));
+                if (!taken) {
+                    consumer.accept(new FreeSlot(date, start, end));
+                }
+            }
+        }
     }
 
     @Override
-    @Transactional
     public Appointment updateAppointmentStatus(Long id, AppointmentStatus status) {
-        return appointmentRepository.findById(id)
-                .map(appointment -> {
-                    appointment.setStatus(status);
-                    return appointmentRepository.save(appointment);
-                })
-                .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
+        return changeStatus(id, status);
+    }
+
+    // The contact is looked up before the transaction opens, not while holding the row
+    private Appointment changeStatus(Long id, AppointmentStatus status) {
+        AppointmentContact contact = status == AppointmentStatus.CANCELLED
+                ? appointmentRepository.findById(id)
+                        .map(a -> appointmentContactClient.resolve(a.getUserId(), a.getDoctorId()))
+                        .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id))
+                : null;
+        return transactionOperations.execute(tx -> appointmentRepository.findById(id)
+                .map(appointment -> saveWithStatus(appointment, status, contact))
+                .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id)));
+    }
+
+    // Runs inside the caller's transaction; a move into CANCELLED also writes the cancellation event
+    private Appointment saveWithStatus(Appointment appointment, AppointmentStatus status, AppointmentContact contact) {
+        boolean cancelling = status == AppointmentStatus.CANCELLED
+                && appointment.getStatus() != AppointmentStatus.CANCELLED;
+        appointment.setStatus(status);
+        Appointment saved = appointmentRepository.saveAndFlush(appointment);
+        slotOccupancyIndex.recordAfterCommit(saved);
+        if (cancelling) {
+            appointmentEventOutbox.appointmentCancelled(saved, contact);
+        }
+        return saved;
     }
-}
\ No newline at end of file
+}
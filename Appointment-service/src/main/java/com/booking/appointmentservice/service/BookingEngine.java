@@ -0,0 +1,123 @@
+package com.booking.appointmentservice.service;
+
+import com.booking.appointmentservice.dto.AppointmentContact;
+import com.booking.appointmentservice.model.Appointment;
+import com.booking.appointmentservice.model.AppointmentStatus;
+import com.booking.appointmentservice.repository.AppointmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes writes that compete for the same (doctorId, date).
+ *
+ * Conflicting requests inside one instance queue on a striped lock, so
+ * unrelated doctor-days never block each other. Across instances, the same
+ * transaction takes a Postgres transaction-scoped advisory lock on the
+ * doctor-day and then checks the slot in the database, which sees bookings
+ * committed by every instance. The occupancy index only holds this
+ * instance's view and can be stale in both directions, missing bookings made
+ * elsewhere or still holding ones cancelled elsewhere, so a booking never
+ * trusts it and always asks the database under the lock.
+ */
+@Component
+public class BookingEngine {
+
+    private static final int STRIPES = 256;
+
+    private final AppointmentRepository appointmentRepository;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final AppointmentEventOutbox appointmentEventOutbox;
+    private final TransactionOperations transactionOperations;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean advisoryLocks;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    @Autowired
+    public BookingEngine(AppointmentRepository appointmentRepository,
+                         SlotOccupancyIndex slotOccupancyIndex,
+                         AppointmentEventOutbox appointmentEventOutbox,
+                         TransactionOperations transactionOperations,
+                         JdbcTemplate jdbcTemplate,
+                         @Value("${booking.advisory-locks.enabled:true}") boolean advisoryLocks) {
+        this.appointmentRepository = appointmentRepository;
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.appointmentEventOutbox = appointmentEventOutbox;
+        this.transactionOperations = transactionOperations;
+        this.jdbcTemplate = jdbcTemplate;
+        this.advisoryLocks = advisoryLocks;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public BookingResult book(Appointment appointment, AppointmentContact contact) {
+        return runLocked(appointment.getDoctorId(), appointment.getDate(), () -> {
+            if (isSlotBooked(appointment.getDoctorId(), appointment.getDate(),
+                    appointment.getStartTime(), appointment.getEndTime(), null)) {
+                return BookingResult.slotUnavailable();
+            }
+            appointment.setStatus(AppointmentStatus.SCHEDULED);
+            Appointment saved = appointmentRepository.save(appointment);
+            slotOccupancyIndex.recordAfterCommit(saved);
+            appointmentEventOutbox.appointmentCreated(saved, contact);
+            return BookingResult.booked(saved);
+        });
+    }
+
+    /**
+     * Runs {@code work} in a new transaction while holding both the local
+     * stripe and the database lock for the doctor-day.
+     */
+    public <T> T runLocked(Long doctorId, LocalDate date, Supplier<T> work) {
+        ReentrantLock stripe = stripes[stripeFor(doctorId, date)];
+        stripe.lock();
+        try {
+            return transactionOperations.execute(status -> {
+                if (advisoryLocks) {
+                    jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", rs -> null,
+                            doctorId.intValue(), (int) date.toEpochDay());
+                }
+                return work.get();
+            });
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Fast check against this instance's occupancy index, for availability
+     * lookups only. The index may miss bookings committed by other instances
+     * or still hold ones they cancelled, so writes decide with
+     * {@link #isSlotBooked} under the lock instead.
+     */
+    public boolean isSlotTaken(Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                               Long excludeAppointmentId) {
+        if (slotOccupancyIndex.covers(date)) {
+            return slotOccupancyIndex.isOccupied(doctorId, date, startTime, endTime, excludeAppointmentId);
+        }
+        // Index not loaded yet or date outside its window: ask the database
+        return isSlotBooked(doctorId, date, startTime, endTime, excludeAppointmentId);
+    }
+
+    // Authoritative check; call it from inside runLocked
+    public boolean isSlotBooked(Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                Long excludeAppointmentId) {
+        return excludeAppointmentId == null
+                ? appointmentRepository.isTimeSlotBooked(doctorId, date, startTime, endTime)
+                : appointmentRepository.isTimeSlotBookedExcluding(doctorId, date, startTime, endTime,
+                        excludeAppointmentId);
+    }
+
+    private static int stripeFor(Long doctorId, LocalDate date) {
+        int hash = 31 * Long.hashCode(doctorId) + Long.hashCode(date.toEpochDay());
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,43 @@
+package com.booking.appointmentservice.service;
+
+import com.booking.appointmentservice.model.Appointment;
+
+/**
+ * Outcome of a booking attempt. A taken slot is an expected result under
+ * contention, so it is reported as a value rather than an exception.
+ */
+public final class BookingResult {
+
+    public enum Outcome {
+        BOOKED,
+        SLOT_UNAVAILABLE
+    }
+
+    private final Outcome outcome;
+    private final Appointment appointment;
+
+    private BookingResult(Outcome outcome, Appointment appointment) {
+        this.outcome = outcome;
+        this.appointment = appointment;
+    }
+
+    public static BookingResult booked(Appointment appointment) {
+        return new BookingResult(Outcome.BOOKED, appointment);
+    }
+
+    public static BookingResult slotUnavailable() {
+        return new BookingResult(Outcome.SLOT_UNAVAILABLE, null);
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean isBooked() {
+        return outcome == Outcome.BOOKED;
+    }
+
+    public Appointment getAppointment() {
+        return appointment;
+    }
+}
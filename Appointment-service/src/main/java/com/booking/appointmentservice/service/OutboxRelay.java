@@ -0,0 +1,72 @@
+package com.booking.appointmentservice.service;
+
+import com.booking.appointmentservice.model.OutboxEvent;
+import com.booking.appointmentservice.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the outbox to Kafka in batches, off the request path.
+ *
+ * A batch is locked, handed to the producer in one go so it can fill its
+ * linger/batch buffers, and deleted only after every record is acknowledged.
+ * If any send fails the transaction rolls back and the batch is retried on
+ * the next run, so delivery is at-least-once; the idempotent producer keeps
+ * broker-side retries from duplicating records.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, String> kafkaTemplate,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    @Transactional
+    public void relay() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        CompletableFuture<?>[] acks = new CompletableFuture<?>[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            acks[i] = kafkaTemplate.send(event.getTopic(), event.getMessageKey(), event.getPayload());
+        }
+        kafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(acks).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Outbox batch of " + batch.size() + " events not acknowledged", e);
+        }
+
+        outboxEventRepository.deleteAllInBatch(batch);
+        log.debug("Relayed {} outbox events", batch.size());
+    }
+}
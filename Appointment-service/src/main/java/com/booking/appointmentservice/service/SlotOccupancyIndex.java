@@ -0,0 +1,276 @@
+package com.booking.appointmentservice.service;
+
+import com.booking.appointmentservice.model.Appointment;
+import com.booking.appointmentservice.model.AppointmentStatus;
+import com.booking.appointmentservice.repository.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of booked intervals per (doctorId, date).
+ *
+ * Intervals are kept as sorted primitive arrays of second-of-day offsets and
+ * treated as half-open, so back-to-back slots do not conflict. The index is
+ * write-through for this instance's changes, which are recorded after their
+ * transaction commits. Changes made by other instances only arrive when the
+ * index is reloaded from the database, at startup and then every
+ * {@code availability.occupancy-index.refresh-interval-ms}, which also drops
+ * days that have passed. Availability answers can therefore lag other
+ * instances by up to one interval; bookings never rely on the index.
+ * Until the first load completes, and for dates before the loaded window,
+ * callers are told the index cannot answer and should fall back to the
+ * repository.
+ */
+@Component
+public class SlotOccupancyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotOccupancyIndex.class);
+
+    static final Set<AppointmentStatus> INACTIVE_STATUSES =
+            EnumSet.of(AppointmentStatus.CANCELLED, AppointmentStatus.COMPLETED);
+
+    private final AppointmentRepository appointmentRepository;
+
+    // Writers share the read lock; only swapping in a reload needs exclusive access
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    // Changes recorded while a reload is querying, replayed onto its result
+    private volatile Queue<Change> changesDuringReload;
+
+    private volatile Map<DoctorDay, DayOccupancy> days = new ConcurrentHashMap<>();
+    private volatile Map<Long, DoctorDay> locations = new ConcurrentHashMap<>();
+    private volatile LocalDate loadedFrom;
+
+    @Autowired
+    public SlotOccupancyIndex(AppointmentRepository appointmentRepository) {
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Slot occupancy index loaded with {} active appointments from {}", reload(), loadedFrom);
+    }
+
+    @Scheduled(initialDelayString = "${availability.occupancy-index.refresh-interval-ms:60000}",
+            fixedDelayString = "${availability.occupancy-index.refresh-interval-ms:60000}")
+    public void refresh() {
+        log.debug("Slot occupancy index refreshed with {} active appointments from {}", reload(), loadedFrom);
+    }
+
+    /**
+     * Replaces the index with the database's view from today on. The query
+     * runs without blocking writers; changes this instance commits meanwhile
+     * are queued and applied on top of the result, so none are lost.
+     */
+    private synchronized int reload() {
+        LocalDate from = LocalDate.now();
+        Queue<Change> changes = new ConcurrentLinkedQueue<>();
+        rebuildLock.writeLock().lock();
+        try {
+            changesDuringReload = changes;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+
+        List<Appointment> active;
+        try {
+            active = appointmentRepository.findByDateGreaterThanEqualAndStatusNotIn(from, INACTIVE_STATUSES);
+        } catch (RuntimeException e) {
+            changesDuringReload = null;
+            throw e;
+        }
+
+        Map<DoctorDay, DayOccupancy> freshDays = new ConcurrentHashMap<>();
+        Map<Long, DoctorDay> freshLocations = new ConcurrentHashMap<>();
+        for (Appointment appointment : active) {
+            DoctorDay key = new DoctorDay(appointment.getDoctorId(), appointment.getDate());
+            freshDays.computeIfAbsent(key, k -> new DayOccupancy())
+                    .add(appointment.getId(), toSeconds(appointment.getStartTime()),
+                            toSeconds(appointment.getEndTime()));
+            freshLocations.put(appointment.getId(), key);
+        }
+        rebuildLock.writeLock().lock();
+        try {
+            for (Change change : changes) {
+                if (!change.date().isBefore(from)) {
+                    apply(freshDays, freshLocations, change);
+                }
+            }
+            days = freshDays;
+            locations = freshLocations;
+            loadedFrom = from;
+            changesDuringReload = null;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        return active.size();
+    }
+
+    /**
+     * Whether the index holds authoritative data for the given date.
+     */
+    public boolean covers(LocalDate date) {
+        LocalDate from = loadedFrom;
+        return from != null && !date.isBefore(from);
+    }
+
+    /**
+     * Returns true if any active appointment of the doctor overlaps
+     * [startTime, endTime) on the given date, ignoring {@code excludeId}.
+     */
+    public boolean isOccupied(Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime, Long excludeId) {
+        DayOccupancy day = days.get(new DoctorDay(doctorId, date));
+        return day != null && day.overlaps(toSeconds(startTime), toSeconds(endTime),
+                excludeId == null ? Long.MIN_VALUE : excludeId);
+    }
+
+    /**
+     * Records the current state of an appointment once the surrounding
+     * transaction commits, or immediately when there is none.
+     */
+    public void recordAfterCommit(Appointment appointment) {
+        Long id = appointment.getId();
+        Long doctorId = appointment.getDoctorId();
+        LocalDate date = appointment.getDate();
+        int start = toSeconds(appointment.getStartTime());
+        int end = toSeconds(appointment.getEndTime());
+        boolean active = !INACTIVE_STATUSES.contains(appointment.getStatus());
+
+        Change change = new Change(id, doctorId, date, start, end, active);
+        Runnable update = () -> record(change);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private void record(Change change) {
+        rebuildLock.readLock().lock();
+        try {
+            apply(days, locations, change);
+            Queue<Change> pending = changesDuringReload;
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private static void apply(Map<DoctorDay, DayOccupancy> days, Map<Long, DoctorDay> locations, Change change) {
+        DoctorDay previous = locations.remove(change.id());
+        if (previous != null) {
+            DayOccupancy day = days.get(previous);
+            if (day != null) {
+                day.remove(change.id());
+            }
+        }
+        if (change.active()) {
+            DoctorDay key = new DoctorDay(change.doctorId(), change.date());
+            days.computeIfAbsent(key, k -> new DayOccupancy()).add(change.id(), change.start(), change.end());
+            locations.put(change.id(), key);
+        }
+    }
+
+    private static int toSeconds(LocalTime time) {
+        return time.toSecondOfDay();
+    }
+
+    private record DoctorDay(Long doctorId, LocalDate date) {
+    }
+
+    private record Change(Long id, Long doctorId, LocalDate date, int start, int end, boolean active) {
+    }
+
+    /**
+     * Booked intervals of a single doctor-day, sorted by start offset.
+     * A day rarely holds more than a few dozen entries, so copy-on-write
+     * arrays keep reads lock-free and allocation-free.
+     */
+    private static final class DayOccupancy {
+
+        private static final Intervals EMPTY = new Intervals(new int[0], new int[0], new long[0]);
+
+        private volatile Intervals intervals = EMPTY;
+
+        boolean overlaps(int start, int end, long excludeId) {
+            Intervals current = intervals;
+            for (int i = 0; i < current.starts.length && current.starts[i] < end; i++) {
+                if (current.ends[i] > start && current.ids[i] != excludeId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void add(long id, int start, int end) {
+            Intervals current = intervals;
+            int n = current.starts.length;
+            int pos = 0;
+            while (pos < n && current.starts[pos] <= start) {
+                pos++;
+            }
+            int[] starts = new int[n + 1];
+            int[] ends = new int[n + 1];
+            long[] ids = new long[n + 1];
+            System.arraycopy(current.starts, 0, starts, 0, pos);
+            System.arraycopy(current.ends, 0, ends, 0, pos);
+            System.arraycopy(current.ids, 0, ids, 0, pos);
+            starts[pos] = start;
+            ends[pos] = end;
+            ids[pos] = id;
+            System.arraycopy(current.starts, pos, starts, pos + 1, n - pos);
+            System.arraycopy(current.ends, pos, ends, pos + 1, n - pos);
+            System.arraycopy(current.ids, pos, ids, pos + 1, n - pos);
+            intervals = new Intervals(starts, ends, ids);
+        }
+
+        synchronized void remove(long id) {
+            Intervals current = intervals;
+            int n = current.ids.length;
+            int pos = 0;
+            while (pos < n && current.ids[pos] != id) {
+                pos++;
+            }
+            if (pos == n) {
+                return;
+            }
+            int[] starts = Arrays.copyOf(current.starts, n - 1);
+            int[] ends = Arrays.copyOf(current.ends, n - 1);
+            long[] ids = Arrays.copyOf(current.ids, n - 1);
+            System.arraycopy(current.starts, pos + 1, starts, pos, n - pos - 1);
+            System.arraycopy(current.ends, pos + 1, ends, pos, n - pos - 1);
+            System.arraycopy(current.ids, pos + 1, ids, pos, n - pos - 1);
+            intervals = new Intervals(starts, ends, ids);
+        }
+    }
+
+    private record Intervals(int[] starts, int[] ends, long[] ids) {
+    }
+}
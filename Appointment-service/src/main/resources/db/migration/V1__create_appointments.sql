@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS appointments (
+    id          BIGSERIAL PRIMARY KEY,
+    user_id     BIGINT       NOT NULL,
+    doctor_id   BIGINT       NOT NULL,
+    date        DATE         NOT NULL,
+    start_time  TIME         NOT NULL,
+    end_time    TIME         NOT NULL,
+    reason      VARCHAR(500),
+    status      VARCHAR(255) NOT NULL,
+    created_at  DATE,
+    updated_at  DATE
+);
@@ -0,0 +1,24 @@
+-- Keyset pagination on (date, start_time, id), per doctor, per user and globally.
+-- The doctor index also serves findByDateAndDoctorId and findActiveDoctorAppointmentsByDate.
+CREATE INDEX IF NOT EXISTS ix_appointments_doctor_date_start_id
+    ON appointments (doctor_id, date, start_time, id);
+
+CREATE INDEX IF NOT EXISTS ix_appointments_user_date_start_id
+    ON appointments (user_id, date, start_time, id);
+
+CREATE INDEX IF NOT EXISTS ix_appointments_date_start_id
+    ON appointments (date, start_time, id);
+
+-- findByUserIdAndStatus / findByDoctorIdAndStatus
+CREATE INDEX IF NOT EXISTS ix_appointments_user_status
+    ON appointments (user_id, status);
+
+CREATE INDEX IF NOT EXISTS ix_appointments_doctor_status
+    ON appointments (doctor_id, status);
+
+-- Overlap checks in isTimeSlotBooked: only slot-holding rows, searched by period
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE INDEX IF NOT EXISTS ix_appointments_doctor_active_period
+    ON appointments USING gist (doctor_id, tsrange(date + start_time, date + end_time))
+    WHERE status NOT IN ('CANCELLED', 'COMPLETED');
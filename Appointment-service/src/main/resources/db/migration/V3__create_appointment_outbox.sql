@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS appointment_outbox (
+    id           BIGSERIAL PRIMARY KEY,
+    topic        VARCHAR(255) NOT NULL,
+    message_key  VARCHAR(255) NOT NULL,
+    payload      TEXT         NOT NULL,
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
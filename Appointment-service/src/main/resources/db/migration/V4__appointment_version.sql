@@ -0,0 +1,3 @@
+-- Optimistic lock version, also published with appointment events so
+-- notification-service can tell a redelivered event from a new one.
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -1,10 +1,8 @@
 package com.booking.appointmentservice;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class AppointmentServiceApplicationTests {
+class AppointmentServiceApplicationTests extends EmbeddedPostgresTest {
 
     @Test
     void contextLoads() {
@@ -0,0 +1,136 @@
+package com.booking.appointmentservice.client;
+
+import com.booking.appointmentservice.dto.CalendarSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class DoctorScheduleClientTests {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+    private static final String MONDAY_SLOTS = """
+            [{"date":"2030-01-07","startTime":"09:30:00","endTime":"10:00:00"},
+             {"date":"2030-01-07","startTime":"09:00:00","endTime":"09:30:00"}]""";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private MockRestServiceServer server;
+    private DoctorScheduleClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl("http://doctor-service");
+        server = MockRestServiceServer.bindTo(builder).build();
+        client = new DoctorScheduleClient(builder.build(), Duration.ofMinutes(5), 3, nanos::get);
+    }
+
+    private static String slotsUri(long doctorId, LocalDate from, LocalDate to) {
+        return "http://doctor-service/api/doctors/" + doctorId + "/slots?from=" + from + "&to=" + to;
+    }
+
+    @Test
+    void groupsSlotsIntoSortedOffsetsPerDate() {
+        DoctorScheduleClient.CalendarSlots calendar = DoctorScheduleClient.CalendarSlots.of(List.of(
+                slot(MONDAY, "14:00", "14:20"),
+                slot(MONDAY, "09:00", "09:30"),
+                slot(MONDAY.plusDays(1), "09:00", "09:20")));
+
+        assertArrayEquals(seconds("09:00", "14:00"), calendar.starts(MONDAY));
+        assertArrayEquals(seconds("09:30", "14:20"), calendar.ends(MONDAY));
+        assertArrayEquals(seconds("09:00"), calendar.starts(MONDAY.plusDays(1)));
+        assertEquals(0, calendar.starts(MONDAY.plusDays(2)).length);
+    }
+
+    @Test
+    void servesFromCacheUntilTheTtlExpires() {
+        server.expect(ExpectedCount.twice(), requestTo(slotsUri(1, MONDAY, MONDAY)))
+                .andRespond(withSuccess(MONDAY_SLOTS, MediaType.APPLICATION_JSON));
+
+        assertArrayEquals(seconds("09:00", "09:30"), client.getSlots(1L, MONDAY, MONDAY).starts(MONDAY));
+        nanos.addAndGet(Duration.ofMinutes(4).toNanos());
+        client.getSlots(1L, MONDAY, MONDAY);
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        client.getSlots(1L, MONDAY, MONDAY);
+
+        server.verify();
+    }
+
+    @Test
+    void fetchesOnlyTheDaysNotCached() {
+        server.expect(requestTo(slotsUri(1, MONDAY, MONDAY)))
+                .andRespond(withSuccess(MONDAY_SLOTS, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(slotsUri(1, MONDAY.plusDays(1), MONDAY.plusDays(2))))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        client.getSlots(1L, MONDAY, MONDAY);
+        DoctorScheduleClient.CalendarSlots calendar = client.getSlots(1L, MONDAY, MONDAY.plusDays(2));
+
+        assertEquals(2, calendar.starts(MONDAY).length);
+        assertEquals(0, calendar.starts(MONDAY.plusDays(1)).length);
+        server.verify();
+    }
+
+    @Test
+    void longRangesAreSplitAtTheEndpointLimit() {
+        LocalDate from = LocalDate.of(2030, 1, 1);
+        server.expect(requestTo(slotsUri(1, from, from.plusDays(91))))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(slotsUri(1, from.plusDays(92), from.plusDays(99))))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        client.getSlots(1L, from, from.plusDays(99));
+
+        server.verify();
+    }
+
+    @Test
+    void evictForcesAReload() {
+        server.expect(ExpectedCount.twice(), requestTo(slotsUri(1, MONDAY, MONDAY)))
+                .andRespond(withSuccess(MONDAY_SLOTS, MediaType.APPLICATION_JSON));
+
+        client.getSlots(1L, MONDAY, MONDAY);
+        client.evict(1L);
+        client.getSlots(1L, MONDAY, MONDAY);
+
+        server.verify();
+    }
+
+    @Test
+    void keepsAtMostTheConfiguredNumberOfDays() {
+        for (long doctorId = 1; doctorId <= 2; doctorId++) {
+            server.expect(requestTo(slotsUri(doctorId, MONDAY, MONDAY.plusDays(1))))
+                    .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        }
+        for (long doctorId = 1; doctorId <= 2; doctorId++) {
+            client.getSlots(doctorId, MONDAY, MONDAY.plusDays(1));
+        }
+        client.cleanUp();
+
+        assertEquals(3, client.cachedDays());
+    }
+
+    private static CalendarSlot slot(LocalDate date, String start, String end) {
+        return new CalendarSlot(date, LocalTime.parse(start), LocalTime.parse(end));
+    }
+
+    private static int[] seconds(String... times) {
+        int[] seconds = new int[times.length];
+        for (int i = 0; i < times.length; i++) {
+            seconds[i] = LocalTime.parse(times[i]).toSecondOfDay();
+        }
+        return seconds;
+    }
+}
@@ -0,0 +1,127 @@
+package com.booking.appointmentservice.controller;
+
+import com.booking.appointmentservice.EmbeddedPostgresTest;
+import com.booking.appointmentservice.model.Appointment;
+import com.booking.appointmentservice.repository.AppointmentRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset pages and NDJSON streams must return every appointment exactly
+ * once, in (date, startTime, id) order, including rows that tie on date and
+ * start time.
+ */
+class AppointmentControllerPagingTests extends EmbeddedPostgresTest {
+
+    private static final long USER_ID = 9_001L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Long> expectedOrder = new ArrayList<>();
+
+    @BeforeEach
+    void insertAppointments() {
+        appointmentRepository.deleteAll(appointmentRepository.findByUserId(USER_ID));
+        LocalDate day = LocalDate.now().plusDays(30);
+        // Saved out of order; two pairs share date and start time and are ordered by id
+        save(day.plusDays(1), "09:00");
+        save(day, "10:00");
+        save(day, "09:00");
+        save(day, "09:00");
+        save(day.plusDays(1), "08:00");
+        save(day, "10:00");
+        expectedOrder.clear();
+        appointmentRepository.findByUserId(USER_ID).stream()
+                .sorted(Comparator.comparing(Appointment::getDate)
+                        .thenComparing(Appointment::getStartTime)
+                        .thenComparing(Appointment::getId))
+                .forEach(a -> expectedOrder.add(a.getId()));
+    }
+
+    @Test
+    void pagesFollowTheCursorToTheEnd() throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JsonNode page = getJson("/api/appointments/user/{userId}?limit=4" + (cursor != null ? "&cursor=" + cursor : ""));
+            page.get("items").forEach(item -> seen.add(item.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        assertEquals(expectedOrder, seen);
+        assertEquals(2, pages);
+    }
+
+    @Test
+    void lastFullPageHasNoCursor() throws Exception {
+        JsonNode page = getJson("/api/appointments/user/{userId}?limit=" + expectedOrder.size());
+
+        assertEquals(expectedOrder.size(), page.get("items").size());
+        assertNull(page.get("nextCursor").textValue());
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/appointments/user/{userId}", USER_ID)
+                        .param("limit", "4")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void ndjsonStreamsOneAppointmentPerLineInOrder() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/appointments/user/{userId}", USER_ID)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<Long> streamed = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            streamed.add(objectMapper.readTree(line).get("id").asLong());
+        }
+        assertEquals(expectedOrder, streamed);
+    }
+
+    private JsonNode getJson(String path) throws Exception {
+        String body = mockMvc.perform(get(path, USER_ID))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void save(LocalDate date, String startTime) {
+        LocalTime start = LocalTime.parse(startTime);
+        appointmentRepository.save(new Appointment(USER_ID, 1L, date, start, start.plusMinutes(30), null));
+    }
+}
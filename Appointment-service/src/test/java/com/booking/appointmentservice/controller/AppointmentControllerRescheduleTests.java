@@ -0,0 +1,79 @@
+package com.booking.appointmentservice.controller;
+
+import com.booking.appointmentservice.EmbeddedPostgresTest;
+import com.booking.appointmentservice.model.Appointment;
+import com.booking.appointmentservice.model.AppointmentStatus;
+import com.booking.appointmentservice.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A reschedule into a taken slot is a conflict, not a missing appointment.
+ */
+class AppointmentControllerRescheduleTests extends EmbeddedPostgresTest {
+
+    private static final long DOCTOR_ID = 9_101L;
+    private static final LocalDate DAY = LocalDate.now().plusDays(40);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private Appointment nine;
+
+    @BeforeEach
+    void insertAppointments() {
+        appointmentRepository.deleteAll(appointmentRepository.findByDoctorId(DOCTOR_ID));
+        nine = save("09:00");
+        save("10:00");
+    }
+
+    @Test
+    void rescheduleIntoATakenSlotIsAConflict() throws Exception {
+        mockMvc.perform(reschedule(nine.getId(), "10:00"))
+                .andExpect(status().isConflict());
+
+        assertEquals(LocalTime.parse("09:00"), appointmentRepository.findById(nine.getId()).orElseThrow().getStartTime());
+    }
+
+    @Test
+    void rescheduleIntoAFreeSlotSucceeds() throws Exception {
+        mockMvc.perform(reschedule(nine.getId(), "11:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.startTime").value("11:00:00"));
+    }
+
+    @Test
+    void unknownAppointmentIsNotFound() throws Exception {
+        mockMvc.perform(reschedule(Long.MAX_VALUE, "11:00"))
+                .andExpect(status().isNotFound());
+    }
+
+    private RequestBuilder reschedule(long id, String startTime) {
+        LocalTime start = LocalTime.parse(startTime);
+        return put("/api/appointments/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"userId":1,"doctorId":%d,"date":"%s","startTime":"%s","endTime":"%s","status":"%s"}"""
+                        .formatted(DOCTOR_ID, DAY, start, start.plusMinutes(30), AppointmentStatus.SCHEDULED));
+    }
+
+    private Appointment save(String startTime) {
+        LocalTime start = LocalTime.parse(startTime);
+        return appointmentRepository.save(new Appointment(1L, DOCTOR_ID, DAY, start, start.plusMinutes(30), null));
+    }
+}
@@ -0,0 +1,94 @@
+package com.booking.appointmentservice.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the migrations against an embedded Postgres with a realistic mix of
+ * appointments and checks that, with default planner settings, the
+ * repository's hot queries are planned on the new indexes.
+ */
+class AppointmentIndexPlanTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().migrate();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            // 300 doctors and 20k patients over 18 months of history and 6 months ahead: past
+            // appointments are completed, future ones scheduled, and one in ten is cancelled
+            statement.execute("INSERT INTO appointments (user_id, doctor_id, date, start_time, end_time, status) " +
+                    "SELECT (g * 7919) % 20000, (g * 31) % 300, CURRENT_DATE - 540 + g % 720, " +
+                    "TIME '08:00' + (g / 720 % 18) * INTERVAL '30 minutes', " +
+                    "TIME '08:30' + (g / 720 % 18) * INTERVAL '30 minutes', " +
+                    "CASE WHEN g % 10 = 0 THEN 'CANCELLED' " +
+                    "WHEN CURRENT_DATE - 540 + g % 720 < CURRENT_DATE THEN 'COMPLETED' ELSE 'SCHEDULED' END " +
+                    "FROM generate_series(1, 200000) g");
+            statement.execute("VACUUM ANALYZE appointments");
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void overlapCheckUsesPeriodIndex() throws Exception {
+        String sql = AppointmentRepository.SLOT_OVERLAP_SQL
+                .replace(":doctorId", "42")
+                .replace(":date", "CURRENT_DATE + 3")
+                .replace(":startTime", "'09:00'")
+                .replace(":endTime", "'09:30'");
+        assertTrue(explain(sql).contains("ix_appointments_doctor_active_period"));
+    }
+
+    @Test
+    void doctorDayLookupUsesDoctorIndex() throws Exception {
+        String plan = explain("SELECT * FROM appointments WHERE doctor_id = 42 AND date = CURRENT_DATE + 3 " +
+                "AND status <> 'CANCELLED'");
+        assertTrue(plan.contains("ix_appointments_doctor_date_start_id"));
+    }
+
+    @Test
+    void statusLookupsUseStatusIndexes() throws Exception {
+        assertTrue(explain("SELECT * FROM appointments WHERE user_id = 7 AND status = 'SCHEDULED'")
+                .contains("ix_appointments_user_status"));
+        assertTrue(explain("SELECT * FROM appointments WHERE doctor_id = 7 AND status = 'CANCELLED'")
+                .contains("ix_appointments_doctor_status"));
+    }
+
+    @Test
+    void userKeysetPageUsesUserIndex() throws Exception {
+        String plan = explain("SELECT * FROM appointments WHERE user_id = 7 AND " +
+                "(date, start_time, id) > (CURRENT_DATE, '09:00', 10) ORDER BY date, start_time, id LIMIT 51");
+        assertTrue(plan.contains("ix_appointments_user_date_start_id"));
+        // The row comparison is part of the index condition, not a filter over the user's rows
+        assertTrue(plan.contains("Index Cond: ((user_id = 7) AND (ROW(date, start_time, id) > ROW("), plan);
+    }
+
+    private static String explain(String sql) throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
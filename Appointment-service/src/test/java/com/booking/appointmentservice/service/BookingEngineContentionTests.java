@@ -0,0 +1,120 @@
+package com.booking.appointmentservice.service;
+
+import com.booking.appointmentservice.dto.AppointmentContact;
+import com.booking.appointmentservice.model.Appointment;
+import com.booking.appointmentservice.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The striped lock of a single instance, against an in-memory repository.
+ * Contention across instances, where only the advisory lock helps, is
+ * covered against a real database by {@link BookingEngineDatabaseContentionTests}.
+ */
+class BookingEngineContentionTests {
+
+    private static final int CLIENTS = 500;
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    private final List<Appointment> saved = Collections.synchronizedList(new ArrayList<>());
+    private AppointmentRepository repository;
+    private BookingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        AtomicLong ids = new AtomicLong();
+        repository = mock(AppointmentRepository.class);
+        when(repository.findByDateGreaterThanEqualAndStatusNotIn(any(), any())).thenReturn(List.of());
+        when(repository.save(any(Appointment.class))).thenAnswer(invocation -> {
+            Appointment appointment = invocation.getArgument(0);
+            appointment.setId(ids.incrementAndGet());
+            saved.add(appointment);
+            return appointment;
+        });
+        // The "database" sees every saved appointment, whichever engine saved it
+        when(repository.isTimeSlotBooked(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Long doctorId = invocation.getArgument(0);
+            LocalDate date = invocation.getArgument(1);
+            LocalTime startTime = invocation.getArgument(2);
+            LocalTime endTime = invocation.getArgument(3);
+            synchronized (saved) {
+                return saved.stream().anyMatch(a -> a.getDoctorId().equals(doctorId) && a.getDate().equals(date)
+                        && a.getStartTime().isBefore(endTime) && a.getEndTime().isAfter(startTime));
+            }
+        });
+
+        engine = newInstance(TransactionOperations.withoutTransaction());
+    }
+
+    // One application instance: its own occupancy index and stripes over the shared repository
+    private BookingEngine newInstance(TransactionOperations transactionOperations) {
+        SlotOccupancyIndex index = new SlotOccupancyIndex(repository);
+        index.rebuild();
+        return new BookingEngine(repository, index, mock(AppointmentEventOutbox.class),
+                transactionOperations, null, false);
+    }
+
+    @Test
+    void stampedeOnOneSlotBooksExactlyOnce() throws Exception {
+        List<BookingResult> results = runClients(client -> new Appointment(
+                (long) client, 1L, DAY, LocalTime.parse("09:00"), LocalTime.parse("09:30"), null));
+
+        long booked = results.stream().filter(BookingResult::isBooked).count();
+        assertEquals(1, booked);
+        assertEquals(1, saved.size());
+    }
+
+    @Test
+    void distinctDoctorDaysDoNotBlockEachOther() throws Exception {
+        List<BookingResult> results = runClients(client -> new Appointment(
+                (long) client, (long) client, DAY, LocalTime.parse("09:00"), LocalTime.parse("09:30"), null));
+
+        assertEquals(CLIENTS, results.stream().filter(BookingResult::isBooked).count());
+    }
+
+    private List<BookingResult> runClients(java.util.function.IntFunction<Appointment> request) throws Exception {
+        return runClients(client -> engine, request);
+    }
+
+    private List<BookingResult> runClients(java.util.function.IntFunction<BookingEngine> engines,
+                                           java.util.function.IntFunction<Appointment> request) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<BookingResult>> futures = new ArrayList<>();
+            for (int client = 0; client < CLIENTS; client++) {
+                Appointment appointment = request.apply(client);
+                BookingEngine target = engines.apply(client);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return target.book(appointment, AppointmentContact.UNKNOWN);
+                }));
+            }
+            start.countDown();
+            List<BookingResult> results = new ArrayList<>();
+            for (Future<BookingResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.booking.appointmentservice.service;
+
+import com.booking.appointmentservice.EmbeddedPostgresTest;
+import com.booking.appointmentservice.dto.AppointmentContact;
+import com.booking.appointmentservice.model.Appointment;
+import com.booking.appointmentservice.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two engines with their own stripes and occupancy indexes stand in for two
+ * application instances. Only the Postgres advisory lock serializes them.
+ */
+class BookingEngineDatabaseContentionTests extends EmbeddedPostgresTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingEngineDatabaseContentionTests.class);
+
+    private static final long FIRST_DOCTOR = 9_201L;
+    private static final int SLOTS = 4;
+    private static final int CLIENTS_PER_SLOT = 24;
+    private static final int DISTINCT_DAYS = 200;
+    private static final long COMMIT_DELAY_MILLIS = 20;
+    private static final LocalDate DAY = LocalDate.now().plusDays(50);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentEventOutbox appointmentEventOutbox;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BookingEngine first;
+    private BookingEngine second;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM appointments WHERE doctor_id BETWEEN ? AND ?",
+                FIRST_DOCTOR, FIRST_DOCTOR + DISTINCT_DAYS);
+        first = newInstance();
+        second = newInstance();
+    }
+
+    private BookingEngine newInstance() {
+        SlotOccupancyIndex index = new SlotOccupancyIndex(appointmentRepository);
+        index.rebuild();
+        return new BookingEngine(appointmentRepository, index, appointmentEventOutbox,
+                slowCommits(), jdbcTemplate, true);
+    }
+
+    // Keeps each transaction open a little after its work, so a check that is
+    // not serialized with it would run before its insert commits
+    private TransactionOperations slowCommits() {
+        return new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return transactionOperations.execute(status -> {
+                    T result = action.doInTransaction(status);
+                    try {
+                        Thread.sleep(COMMIT_DELAY_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return result;
+                });
+            }
+        };
+    }
+
+    @Test
+    void instancesBookEachSlotExactlyOnce() throws Exception {
+        // Consecutive clients of one slot alternate between the instances
+        List<BookingResult> results = runClients(SLOTS * CLIENTS_PER_SLOT, client -> (client / SLOTS) % 2, client -> {
+            LocalTime start = LocalTime.of(9, 0).plusMinutes(30L * (client % SLOTS));
+            return new Appointment((long) client, FIRST_DOCTOR, DAY, start, start.plusMinutes(30), null);
+        });
+
+        assertEquals(SLOTS, results.stream().filter(BookingResult::isBooked).count());
+        Map<LocalTime, Long> perSlot = appointmentRepository.findByDoctorId(FIRST_DOCTOR).stream()
+                .collect(Collectors.groupingBy(Appointment::getStartTime, Collectors.counting()));
+        assertEquals(SLOTS, perSlot.size());
+        perSlot.forEach((start, count) -> assertEquals(1L, count, "bookings at " + start));
+    }
+
+    @Test
+    void distinctDoctorDaysAreAllBooked() throws Exception {
+        long started = System.nanoTime();
+        List<BookingResult> results = runClients(DISTINCT_DAYS, client -> client % 2, client -> new Appointment((long) client,
+                FIRST_DOCTOR + 1 + client, DAY, LocalTime.parse("09:00"), LocalTime.parse("09:30"), null));
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        assertEquals(DISTINCT_DAYS, results.stream().filter(BookingResult::isBooked).count());
+        log.info("{} concurrent bookings on distinct doctor-days through two instances: {} bookings/s",
+                DISTINCT_DAYS, Math.round(DISTINCT_DAYS / seconds));
+    }
+
+    private List<BookingResult> runClients(int clients, IntUnaryOperator instance,
+                                           IntFunction<Appointment> request) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<BookingResult>> futures = new ArrayList<>();
+            for (int client = 0; client < clients; client++) {
+                Appointment appointment = request.apply(client);
+                BookingEngine engine = instance.applyAsInt(client) == 0 ? first : second;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return engine.book(appointment, AppointmentContact.UNKNOWN);
+                }));
+            }
+            start.countDown();
+            List<BookingResult> results = new ArrayList<>();
+            for (Future<BookingResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
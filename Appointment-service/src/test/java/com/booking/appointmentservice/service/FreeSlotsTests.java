@@ -0,0 +1,96 @@
+package com.booking.appointmentservice.service;
+
+import com.booking.appointmentservice.client.AppointmentContactClient;
+import com.booking.appointmentservice.client.DoctorScheduleClient;
+import com.booking.appointmentservice.dto.CalendarSlot;
+import com.booking.appointmentservice.dto.FreeSlot;
+import com.booking.appointmentservice.model.Appointment;
+import com.booking.appointmentservice.model.AppointmentStatus;
+import com.booking.appointmentservice.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Free slots are the doctor's calendar slots minus active bookings, taken
+ * from the occupancy index where it covers the date and from one range
+ * query where it does not.
+ */
+class FreeSlotsTests {
+
+    private static final Long DOCTOR_ID = 7L;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private AppointmentRepository repository;
+    private SlotOccupancyIndex index;
+    private AppointmentServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AppointmentRepository.class);
+        when(repository.findByDateGreaterThanEqualAndStatusNotIn(any(), any()))
+                .thenReturn(List.of(appointment(1L, TODAY, "09:30", "10:00")));
+        index = new SlotOccupancyIndex(repository);
+        index.rebuild();
+
+        List<CalendarSlot> calendar = new ArrayList<>();
+        for (LocalDate date = TODAY.minusDays(1); !date.isAfter(TODAY.plusDays(1)); date = date.plusDays(1)) {
+            for (String start : List.of("09:00", "09:30", "10:00")) {
+                calendar.add(new CalendarSlot(date, LocalTime.parse(start), LocalTime.parse(start).plusMinutes(30)));
+            }
+        }
+        DoctorScheduleClient scheduleClient = mock(DoctorScheduleClient.class);
+        when(scheduleClient.getSlots(eq(DOCTOR_ID), any(), any())).thenReturn(DoctorScheduleClient.CalendarSlots.of(calendar));
+
+        service = new AppointmentServiceImpl(repository, index, mock(BookingEngine.class), scheduleClient,
+                mock(AppointmentEventOutbox.class), mock(AppointmentContactClient.class),
+                TransactionOperations.withoutTransaction());
+    }
+
+    @Test
+    void indexedDatesSkipBookedSlots() {
+        List<FreeSlot> slots = service.getFreeSlots(DOCTOR_ID, TODAY, TODAY.plusDays(1));
+
+        assertEquals(List.of(
+                TODAY + " 09:00", TODAY + " 10:00",
+                TODAY.plusDays(1) + " 09:00", TODAY.plusDays(1) + " 09:30", TODAY.plusDays(1) + " 10:00"),
+                describe(slots));
+        verify(repository, never()).findByDoctorIdAndDateBetweenAndStatusNotIn(any(), any(), any(), any());
+    }
+
+    @Test
+    void datesBeforeTheIndexAreLoadedWithOneQuery() {
+        LocalDate yesterday = TODAY.minusDays(1);
+        when(repository.findByDoctorIdAndDateBetweenAndStatusNotIn(eq(DOCTOR_ID), eq(yesterday), eq(TODAY), any()))
+                .thenReturn(List.of(appointment(2L, yesterday, "09:15", "09:45")));
+
+        List<FreeSlot> slots = service.getFreeSlots(DOCTOR_ID, yesterday, TODAY);
+
+        // The 09:15-09:45 booking overlaps two calendar slots
+        assertEquals(List.of(yesterday + " 10:00", TODAY + " 09:00", TODAY + " 10:00"), describe(slots));
+    }
+
+    private static List<String> describe(List<FreeSlot> slots) {
+        return slots.stream().map(slot -> slot.getDate() + " " + slot.getStartTime()).toList();
+    }
+
+    private static Appointment appointment(Long id, LocalDate date, String start, String end) {
+        Appointment appointment = new Appointment(100L, DOCTOR_ID, date, LocalTime.parse(start), LocalTime.parse(end), null);
+        appointment.setId(id);
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        return appointment;
+    }
+}
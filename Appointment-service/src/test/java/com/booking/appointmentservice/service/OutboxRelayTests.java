@@ -0,0 +1,157 @@
+package com.booking.appointmentservice.service;
+
+import com.booking.appointmentservice.EmbeddedPostgresTest;
+import com.booking.appointmentservice.dto.AppointmentContact;
+import com.booking.appointmentservice.model.Appointment;
+import com.booking.appointmentservice.model.AppointmentStatus;
+import com.booking.appointmentservice.model.OutboxEvent;
+import com.booking.appointmentservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Booking and cancelling write outbox rows carrying what notification-service
+ * needs, and the relay deletes rows only once Kafka acknowledged them.
+ */
+class OutboxRelayTests extends EmbeddedPostgresTest {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        reset(kafkaTemplate, appointmentContactClient);
+        when(appointmentContactClient.resolve(any(), any()))
+                .thenReturn(new AppointmentContact("patient@example.com", "Dr. Ada Byrne"));
+    }
+
+    @Test
+    void bookingAndCancellationCarryTheContact() throws Exception {
+        Appointment booked = book(LocalTime.parse("09:00"));
+        appointmentService.cancelAppointment(booked.getId());
+
+        List<OutboxEvent> events = outboxEventRepository.findAll(Sort.by("id"));
+        assertEquals(List.of(AppointmentEventOutbox.APPOINTMENT_CREATED_TOPIC,
+                AppointmentEventOutbox.APPOINTMENT_CANCELLED_TOPIC), events.stream().map(OutboxEvent::getTopic).toList());
+        for (OutboxEvent event : events) {
+            JsonNode payload = objectMapper.readTree(event.getPayload());
+            assertEquals(String.valueOf(booked.getId()), event.getMessageKey());
+            assertEquals(booked.getId(), payload.get("appointmentId").asLong());
+            assertEquals("patient@example.com", payload.get("patientEmail").asText());
+            assertEquals("Dr. Ada Byrne", payload.get("doctorName").asText());
+        }
+    }
+
+    @Test
+    void eventsCarryTheVersionTheChangeProduced() throws Exception {
+        Appointment booked = book(LocalTime.parse("09:30"));
+        appointmentService.updateAppointmentStatus(booked.getId(), AppointmentStatus.CANCELLED);
+
+        List<Long> versions = new ArrayList<>();
+        for (OutboxEvent event : outboxEventRepository.findAll(Sort.by("id"))) {
+            versions.add(objectMapper.readTree(event.getPayload()).get("version").asLong());
+        }
+        assertEquals(List.of(0L, 1L), versions);
+    }
+
+    @Test
+    void updateThatCancelsWritesTheCancellationAndFreesTheSlot() {
+        Appointment booked = book(LocalTime.parse("13:00"));
+        Appointment change = new Appointment(booked.getUserId(), booked.getDoctorId(), booked.getDate(),
+                booked.getStartTime(), booked.getEndTime(), booked.getReason());
+        change.setStatus(AppointmentStatus.CANCELLED);
+
+        assertTrue(appointmentService.updateAppointment(booked.getId(), change).isBooked());
+
+        assertEquals(List.of(AppointmentEventOutbox.APPOINTMENT_CREATED_TOPIC,
+                AppointmentEventOutbox.APPOINTMENT_CANCELLED_TOPIC),
+                outboxEventRepository.findAll(Sort.by("id")).stream().map(OutboxEvent::getTopic).toList());
+        assertTrue(appointmentService.isTimeSlotAvailable(booked.getDoctorId(), booked.getDate(),
+                booked.getStartTime(), booked.getEndTime()));
+    }
+
+    @Test
+    void contactIsLookedUpBeforeTheTransactionOpens() {
+        Appointment booked = book(LocalTime.parse("12:00"));
+        List<Boolean> inTransaction = new ArrayList<>();
+        when(appointmentContactClient.resolve(any(), any())).thenAnswer(invocation -> {
+            inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return new AppointmentContact("patient@example.com", "Dr. Ada Byrne");
+        });
+
+        appointmentService.cancelAppointment(booked.getId());
+
+        assertEquals(List.of(false), inTransaction);
+    }
+
+    @Test
+    void acknowledgedEventsAreSentInOrderAndDeleted() {
+        Appointment first = book(LocalTime.parse("10:00"));
+        Appointment second = book(LocalTime.parse("10:30"));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+
+        outboxRelay.relay();
+
+        InOrder inOrder = inOrder(kafkaTemplate);
+        inOrder.verify(kafkaTemplate).send(eq(AppointmentEventOutbox.APPOINTMENT_CREATED_TOPIC),
+                eq(String.valueOf(first.getId())), anyString());
+        inOrder.verify(kafkaTemplate).send(eq(AppointmentEventOutbox.APPOINTMENT_CREATED_TOPIC),
+                eq(String.valueOf(second.getId())), anyString());
+        verify(kafkaTemplate).flush();
+        assertTrue(outboxEventRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void unacknowledgedBatchStaysForTheNextRun() {
+        book(LocalTime.parse("11:00"));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        assertThrows(IllegalStateException.class, () -> outboxRelay.relay());
+
+        assertEquals(1, outboxEventRepository.count());
+    }
+
+    private Appointment book(LocalTime start) {
+        Appointment appointment = new Appointment(4242L, 4242L, LocalDate.now().plusDays(60), start,
+                start.plusMinutes(30), null);
+        BookingResult result = appointmentService.bookAppointment(appointment);
+        assertTrue(result.isBooked());
+        return result.getAppointment();
+    }
+}
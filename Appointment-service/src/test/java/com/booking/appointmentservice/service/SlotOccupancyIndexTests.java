@@ -0,0 +1,86 @@
+package com.booking.appointmentservice.service;
+
+import com.booking.appointmentservice.model.Appointment;
+import com.booking.appointmentservice.model.AppointmentStatus;
+import com.booking.appointmentservice.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlotOccupancyIndexTests {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    private AppointmentRepository repository;
+    private SlotOccupancyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AppointmentRepository.class);
+        when(repository.findByDateGreaterThanEqualAndStatusNotIn(any(), any()))
+                .thenReturn(List.of(appointment(1L, 7L, "09:00", "09:30", AppointmentStatus.SCHEDULED)));
+        index = new SlotOccupancyIndex(repository);
+        index.rebuild();
+    }
+
+    @Test
+    void detectsOverlapButAllowsAdjacentSlots() {
+        assertTrue(index.covers(DAY));
+        assertTrue(index.isOccupied(7L, DAY, LocalTime.parse("09:15"), LocalTime.parse("09:45"), null));
+        assertFalse(index.isOccupied(7L, DAY, LocalTime.parse("09:30"), LocalTime.parse("10:00"), null));
+        assertFalse(index.isOccupied(8L, DAY, LocalTime.parse("09:00"), LocalTime.parse("09:30"), null));
+        assertFalse(index.isOccupied(7L, DAY, LocalTime.parse("09:00"), LocalTime.parse("09:30"), 1L));
+    }
+
+    @Test
+    void tracksRescheduleAndCancellation() {
+        index.recordAfterCommit(appointment(1L, 7L, "11:00", "11:30", AppointmentStatus.SCHEDULED));
+        assertFalse(index.isOccupied(7L, DAY, LocalTime.parse("09:00"), LocalTime.parse("09:30"), null));
+        assertTrue(index.isOccupied(7L, DAY, LocalTime.parse("11:00"), LocalTime.parse("11:30"), null));
+
+        index.recordAfterCommit(appointment(1L, 7L, "11:00", "11:30", AppointmentStatus.CANCELLED));
+        assertFalse(index.isOccupied(7L, DAY, LocalTime.parse("11:00"), LocalTime.parse("11:30"), null));
+    }
+
+    @Test
+    void refreshPicksUpChangesMadeByOtherInstances() {
+        // Cancelled elsewhere; another instance booked 10:00
+        when(repository.findByDateGreaterThanEqualAndStatusNotIn(any(), any()))
+                .thenReturn(List.of(appointment(2L, 7L, "10:00", "10:30", AppointmentStatus.SCHEDULED)));
+
+        index.refresh();
+
+        assertFalse(index.isOccupied(7L, DAY, LocalTime.parse("09:00"), LocalTime.parse("09:30"), null));
+        assertTrue(index.isOccupied(7L, DAY, LocalTime.parse("10:00"), LocalTime.parse("10:30"), null));
+    }
+
+    @Test
+    void changesCommittedDuringARefreshAreKept() {
+        when(repository.findByDateGreaterThanEqualAndStatusNotIn(any(), any())).thenAnswer(invocation -> {
+            // Committed locally after the refresh query took its snapshot
+            index.recordAfterCommit(appointment(3L, 7L, "11:00", "11:30", AppointmentStatus.SCHEDULED));
+            return List.of(appointment(1L, 7L, "09:00", "09:30", AppointmentStatus.SCHEDULED));
+        });
+
+        index.refresh();
+
+        assertTrue(index.isOccupied(7L, DAY, LocalTime.parse("09:00"), LocalTime.parse("09:30"), null));
+        assertTrue(index.isOccupied(7L, DAY, LocalTime.parse("11:00"), LocalTime.parse("11:30"), null));
+    }
+
+    private static Appointment appointment(Long id, Long doctorId, String start, String end, AppointmentStatus status) {
+        Appointment appointment = new Appointment(100L, doctorId, DAY, LocalTime.parse(start), LocalTime.parse(end), null);
+        appointment.setId(id);
+        appointment.setStatus(status);
+        return appointment;
+    }
+}
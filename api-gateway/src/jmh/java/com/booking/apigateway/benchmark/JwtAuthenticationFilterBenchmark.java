@@ -0,0 +1,64 @@
+package com.booking.apigateway.benchmark;
+
+import com.booking.apigateway.filter.JwtAuthenticationFilter;
+import com.booking.apigateway.security.JwtVerifier;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the gateway JWT filter on an authenticated route.
+ * {@code authenticatedRequest} is a repeat request from a live session
+ * (principal cache hit); {@code verifyUncached} is the full signature check
+ * and claim parse that every request used to pay three times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "appointmentBookingSystemSecretKey2024ForSecureTokenGeneration";
+
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+    private JwtVerifier verifier;
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        verifier = new JwtVerifier(SECRET, "primary", "", 100_000);
+        filter = new JwtAuthenticationFilter(verifier);
+        token = Jwts.builder()
+                .setSubject("42")
+                .claim("role", "PATIENT")
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+        authorization = "Bearer " + token;
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/appointments/user/42").header("Authorization", authorization));
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public Object verifyUncached() {
+        return verifier.parse(token);
+    }
+}
@@ -0,0 +1,67 @@
+package com.booking.apigateway.cache;
+
+import org.springframework.http.MediaType;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * A serialized 200 response body with its validator. Immutable and shared by
+ * every request served from the cache.
+ */
+public final class CachedResponse {
+
+    private final byte[] body;
+    private final MediaType contentType;
+    private final String etag;
+    private final long expiresAtNanos;
+
+    public CachedResponse(byte[] body, MediaType contentType, Duration ttl) {
+        this.body = body;
+        this.contentType = contentType;
+        this.etag = etagOf(body);
+        this.expiresAtNanos = System.nanoTime() + ttl.toNanos();
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public MediaType getContentType() {
+        return contentType;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * Whether an If-None-Match header value names this response.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
+    private static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
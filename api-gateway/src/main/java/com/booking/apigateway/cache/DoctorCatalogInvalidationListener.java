@@ -0,0 +1,35 @@
+package com.booking.apigateway.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached catalog responses when doctor-service reports a change.
+ *
+ * The catalog changes a few times a day and a doctor change can affect the
+ * list, the specializations and the schedules at once, so the whole cache is
+ * cleared instead of tracking which entries derive from which doctor. Every
+ * gateway instance uses its own consumer group so each one sees every event;
+ * the group is named after the host, so a restarted instance rejoins its old
+ * group instead of leaving one behind on the broker each time it starts.
+ */
+@Component
+public class DoctorCatalogInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(DoctorCatalogInvalidationListener.class);
+
+    private final ResponseCache responseCache;
+
+    public DoctorCatalogInvalidationListener(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @KafkaListener(topics = "doctor-catalog-changed",
+            groupId = "${gateway.response-cache.invalidation-group-id:api-gateway-#{T(java.net.InetAddress).getLocalHost().getHostName()}}")
+    public void onCatalogChanged(String event) {
+        log.debug("Doctor catalog changed, clearing response cache: {}", event);
+        responseCache.invalidateAll();
+    }
+}
@@ -0,0 +1,113 @@
+package com.booking.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cached upstream responses keyed by path and query, plus the bookkeeping
+ * that lets concurrent misses for one key share a single upstream call.
+ *
+ * Every invalidation bumps a generation counter; a response fetched under an
+ * older generation is handed to its waiters but not stored, so an upstream
+ * call racing with an invalidation cannot put stale data back.
+ */
+@Component
+public class ResponseCache {
+
+    private final List<TtlRule> rules;
+    private final int maximumBodyBytes;
+    private final Cache<String, CachedResponse> responses;
+    private final ConcurrentMap<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final boolean enabled;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.maximumBodyBytes = properties.getMaximumBodyBytes();
+        this.rules = properties.getPaths().stream()
+                .map(path -> new TtlRule(PathPatternParser.defaultInstance.parse(path.getPattern()), path.getTtl()))
+                .toList();
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumEntries())
+                .expireAfterWrite(rules.stream().map(TtlRule::ttl).max(Duration::compareTo).orElse(Duration.ofMinutes(5)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "gateway.response");
+    }
+
+    /**
+     * The configured time to live for a path, or null if it is not cached.
+     */
+    public Duration ttlFor(String path) {
+        if (!enabled) {
+            return null;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (TtlRule rule : rules) {
+            if (rule.pattern().matches(container)) {
+                return rule.ttl();
+            }
+        }
+        return null;
+    }
+
+    public CachedResponse get(String key) {
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null && cached.isExpired()) {
+            responses.asMap().remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    public int getMaximumBodyBytes() {
+        return maximumBodyBytes;
+    }
+
+    /**
+     * Registers the caller as the one fetching {@code key}. Returns null if it
+     * is now responsible for the upstream call, or the pending result of the
+     * caller that already is.
+     */
+    public CompletableFuture<CachedResponse> joinInFlight(String key, CompletableFuture<CachedResponse> mine) {
+        return inFlight.putIfAbsent(key, mine);
+    }
+
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Completes a fetch started under {@code startedAt}. A null response
+     * means the upstream answer was not cacheable and waiters should go
+     * upstream themselves.
+     */
+    public void complete(String key, CompletableFuture<CachedResponse> mine, long startedAt, CachedResponse response) {
+        if (response != null && generation.get() == startedAt) {
+            responses.put(key, response);
+        }
+        inFlight.remove(key, mine);
+        mine.complete(response);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        responses.invalidateAll();
+    }
+
+    private record TtlRule(PathPattern pattern, Duration ttl) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.booking.apigateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GET paths whose successful responses the gateway caches, each with its own
+ * time to live. Patterns use Spring's path pattern syntax, e.g.
+ * {@code /api/doctors/{id}/schedules}.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+    private long maximumEntries = 10_000;
+    private int maximumBodyBytes = 512 * 1024;
+    private List<CachedPath> paths = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumEntries() {
+        return maximumEntries;
+    }
+
+    public void setMaximumEntries(long maximumEntries) {
+        this.maximumEntries = maximumEntries;
+    }
+
+    public int getMaximumBodyBytes() {
+        return maximumBodyBytes;
+    }
+
+    public void setMaximumBodyBytes(int maximumBodyBytes) {
+        this.maximumBodyBytes = maximumBodyBytes;
+    }
+
+    public List<CachedPath> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<CachedPath> paths) {
+        this.paths = paths;
+    }
+
+    public static class CachedPath {
+
+        private String pattern;
+        private Duration ttl = Duration.ofMinutes(5);
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.booking.apigateway.filter;
+
+import com.booking.apigateway.resilience.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the requests each route has in flight upstream and answers the excess
+ * with an immediate 503, so a slow service queues nothing at the gateway and
+ * cannot starve the other routes. Runs after the response cache, so cache
+ * hits never take a slot.
+ */
+@Component
+public class ConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        int limit = properties.limitFor(routeId);
+        if (limit <= 0) {
+            return chain.filter(exchange);
+        }
+
+        AtomicInteger counter = inFlight.computeIfAbsent(routeId, this::register);
+        if (counter.incrementAndGet() > limit) {
+            counter.decrementAndGet();
+            meterRegistry.counter("gateway.concurrency.rejected", "route", routeId).increment();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return response.setComplete();
+        }
+        return chain.filter(exchange).doFinally(signal -> counter.decrementAndGet());
+    }
+
+    private AtomicInteger register(String routeId) {
+        AtomicInteger counter = new AtomicInteger();
+        Gauge.builder("gateway.concurrency.in-flight", counter, AtomicInteger::get)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return counter;
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+}
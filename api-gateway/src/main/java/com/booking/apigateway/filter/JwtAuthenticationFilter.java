@@ -1,8 +1,7 @@
 package com.booking.apigateway.filter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import org.springframework.beans.factory.annotation.Value;
+import com.booking.apigateway.security.AuthenticatedPrincipal;
+import com.booking.apigateway.security.JwtVerifier;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
@@ -18,8 +17,10 @@ import java.util.List;
 @Component
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    // Exchange attribute holding the verified AuthenticatedPrincipal for later filters
+    public static final String PRINCIPAL_ATTRIBUTE = AuthenticatedPrincipal.class.getName();
+
+    private final JwtVerifier jwtVerifier;
 
     // Paths that don't require authentication
     private final List<String> openApiEndpoints = List.of(
@@ -29,6 +30,10 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
             "/actuator"
     );
 
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier) {
+        this.jwtVerifier = jwtVerifier;
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
@@ -50,50 +55,32 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
         // Extract and validate JWT token
         String token = authHeader.substring(7);
+        AuthenticatedPrincipal principal;
         try {
-            validateToken(token);
-            
-            // Add user information to headers for downstream services
-            ServerHttpRequest modifiedRequest = request.mutate()
-                    .header("X-Auth-User-Id", extractUserId(token))
-                    .header("X-Auth-User-Role", extractUserRole(token))
-                    .build();
-            
-            return chain.filter(exchange.mutate().request(modifiedRequest).build());
+            principal = jwtVerifier.verify(token);
         } catch (Exception e) {
             return onError(exchange, HttpStatus.UNAUTHORIZED);
         }
-    }
 
-    private boolean isOpenEndpoint(String path) {
-        return openApiEndpoints.stream().anyMatch(path::startsWith);
-    }
+        exchange.getAttributes().put(PRINCIPAL_ATTRIBUTE, principal);
 
-    private void validateToken(String token) {
-        Jwts.parserBuilder()
-                .setSigningKey(jwtSecret.getBytes())
-                .build()
-                .parseClaimsJws(token);
-    }
+        // Add user information to headers for downstream services
+        ServerHttpRequest modifiedRequest = request.mutate()
+                .headers(headers -> {
+                    headers.set("X-Auth-User-Id", principal.getUserId());
+                    if (principal.getRole() != null) {
+                        headers.set("X-Auth-User-Role", principal.getRole());
+                    } else {
+                        headers.remove("X-Auth-User-Role");
+                    }
+                })
+                .build();
 
-    private String extractUserId(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(jwtSecret.getBytes())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        
-        return claims.getSubject();
+        return chain.filter(exchange.mutate().request(modifiedRequest).build());
     }
 
-    private String extractUserRole(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(jwtSecret.getBytes())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        
-        return claims.get("role", String.class);
+    private boolean isOpenEndpoint(String path) {
+        return openApiEndpoints.stream().anyMatch(path::startsWith);
     }
 
     private Mono<Void> onError(ServerWebExchange exchange, HttpStatus httpStatus) {
@@ -104,6 +91,6 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
     @Override
     public int getOrder() {
-        return -1; // High priority to execute this filter before others
+        return -4; // High priority to execute this filter before others
     }
 }
\ No newline at end of file
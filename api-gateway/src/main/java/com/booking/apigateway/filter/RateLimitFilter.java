@@ -0,0 +1,156 @@
+package com.booking.apigateway.filter;
+
+import com.booking.apigateway.ratelimit.RateLimitDecision;
+import com.booking.apigateway.ratelimit.RateLimitPolicy;
+import com.booking.apigateway.ratelimit.RateLimitProperties;
+import com.booking.apigateway.ratelimit.RateLimitStore;
+import com.booking.apigateway.security.AuthenticatedPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies per-user (or per-IP for anonymous callers) and per-route token
+ * buckets and reports the tightest one in the RateLimit-* headers.
+ * Buckets are consumed in turn; when one rejects, the tokens already taken
+ * from the others are refunded, so a request that never reaches the
+ * upstream does not count against the caller's other limits.
+ * Runs after {@link JwtAuthenticationFilter} so the verified user is known.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimitProperties properties;
+    private final RateLimitStore store;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimitStore store, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "none";
+        List<Bucket> buckets = bucketsFor(exchange, routeId);
+        if (buckets.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        return Flux.fromIterable(buckets)
+                .concatMap(bucket -> store.tryConsume(bucket.key(), bucket.policy())
+                        .map(decision -> new Outcome(bucket, decision))
+                        .onErrorResume(e -> {
+                            // Fail open: an unavailable store must not take the gateway down with it
+                            log.warn("Rate limit store failed for {}: {}", bucket.key(), e.getMessage());
+                            meterRegistry.counter("gateway.ratelimit.store.errors").increment();
+                            return Mono.empty();
+                        }))
+                .takeUntil(outcome -> !outcome.decision().isAllowed())
+                .collectList()
+                .flatMap(outcomes -> {
+                    Outcome rejected = outcomes.stream()
+                            .filter(outcome -> !outcome.decision().isAllowed())
+                            .findFirst()
+                            .orElse(null);
+                    if (rejected != null) {
+                        meterRegistry.counter("gateway.ratelimit.rejected",
+                                "scope", rejected.bucket().scope(), "route", routeId).increment();
+                        return refund(outcomes).then(reject(exchange, rejected.decision()));
+                    }
+                    outcomes.stream()
+                            .map(Outcome::decision)
+                            .min(Comparator.comparingLong(RateLimitDecision::getRemaining))
+                            .ifPresent(decision -> writeHeaders(exchange.getResponse().getHeaders(), decision));
+                    return chain.filter(exchange);
+                });
+    }
+
+    private Mono<Void> refund(List<Outcome> outcomes) {
+        return Flux.fromIterable(outcomes)
+                .filter(outcome -> outcome.decision().isAllowed())
+                .flatMap(outcome -> store.refund(outcome.bucket().key(), outcome.bucket().policy())
+                        .onErrorResume(e -> {
+                            log.warn("Rate limit refund failed for {}: {}", outcome.bucket().key(), e.getMessage());
+                            meterRegistry.counter("gateway.ratelimit.store.errors").increment();
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private List<Bucket> bucketsFor(ServerWebExchange exchange, String routeId) {
+        List<Bucket> buckets = new ArrayList<>(2);
+        AuthenticatedPrincipal principal = exchange.getAttribute(JwtAuthenticationFilter.PRINCIPAL_ATTRIBUTE);
+        if (principal != null) {
+            addIfEnabled(buckets, "user", "user:" + principal.getUserId(), properties.getUser());
+        } else {
+            InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+            String ip = remote != null && remote.getAddress() != null
+                    ? remote.getAddress().getHostAddress()
+                    : "unknown";
+            addIfEnabled(buckets, "ip", "ip:" + ip, properties.getIp());
+        }
+        addIfEnabled(buckets, "route", "route:" + routeId, properties.getRoutes().get(routeId));
+        return buckets;
+    }
+
+    private static void addIfEnabled(List<Bucket> buckets, String scope, String key, RateLimitPolicy policy) {
+        if (policy != null && policy.isEnabled()) {
+            buckets.add(new Bucket(scope, key, policy));
+        }
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, RateLimitDecision decision) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        writeHeaders(response.getHeaders(), decision);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(toSeconds(decision.getRetryAfterNanos())));
+        return response.setComplete();
+    }
+
+    private static void writeHeaders(HttpHeaders headers, RateLimitDecision decision) {
+        headers.set("RateLimit-Limit", Integer.toString(decision.getLimit()));
+        headers.set("RateLimit-Remaining", Long.toString(decision.getRemaining()));
+        headers.set("RateLimit-Reset", Long.toString(toSeconds(decision.getResetNanos())));
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(0, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Override
+    public int getOrder() {
+        return -3;
+    }
+
+    private record Bucket(String scope, String key, RateLimitPolicy policy) {
+    }
+
+    private record Outcome(Bucket bucket, RateLimitDecision decision) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.booking.apigateway.filter;
+
+import com.booking.apigateway.cache.CachedResponse;
+import com.booking.apigateway.cache.ResponseCache;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Serves configured GET routes from {@link ResponseCache}.
+ *
+ * A miss goes upstream once: concurrent requests for the same key wait for
+ * that call and are answered from its result. Responses carry an ETag and
+ * {@code Cache-Control: no-cache}, so browsers revalidate on every page load
+ * and get a body-less 304 while the data is unchanged.
+ *
+ * Runs after authentication and rate limiting, and before
+ * {@link NettyWriteResponseFilter} so it can capture the upstream body.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final ResponseCache responseCache;
+
+    public ResponseCacheFilter(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        Duration ttl = responseCache.ttlFor(request.getPath().value());
+        if (ttl == null) {
+            return chain.filter(exchange);
+        }
+
+        String query = request.getURI().getRawQuery();
+        String key = query == null ? request.getURI().getRawPath() : request.getURI().getRawPath() + "?" + query;
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            return serve(exchange, cached);
+        }
+
+        CompletableFuture<CachedResponse> mine = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> leader = responseCache.joinInFlight(key, mine);
+        if (leader != null) {
+            // Another request is already fetching this key; reuse its answer if it was cacheable
+            return Mono.fromFuture(leader)
+                    .flatMap(response -> serve(exchange, response))
+                    .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)));
+        }
+
+        long generation = responseCache.currentGeneration();
+        ServerHttpResponse capturing = new CapturingResponse(exchange, ttl,
+                response -> responseCache.complete(key, mine, generation, response));
+        return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> {
+                    if (!mine.isDone()) {
+                        responseCache.complete(key, mine, generation, null);
+                    }
+                });
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        writeValidators(headers, cached);
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        if (cached.matches(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.getContentType() != null) {
+            headers.setContentType(cached.getContentType());
+        }
+        headers.setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private static void writeValidators(HttpHeaders headers, CachedResponse cached) {
+        headers.setETag(cached.getEtag());
+        headers.setCacheControl("private, no-cache");
+    }
+
+    private static byte[] drain(List<DataBuffer> chunks) {
+        byte[] bytes = new byte[chunks.stream().mapToInt(DataBuffer::readableByteCount).sum()];
+        int offset = 0;
+        for (DataBuffer chunk : chunks) {
+            int length = chunk.readableByteCount();
+            chunk.read(bytes, offset, length);
+            offset += length;
+            DataBufferUtils.release(chunk);
+        }
+        return bytes;
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    /**
+     * Buffers a cacheable upstream body, stores it, and then writes it (or a
+     * 304) to the client. Anything else passes straight through.
+     */
+    private class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final Duration ttl;
+        private final Consumer<CachedResponse> completion;
+
+        CapturingResponse(ServerWebExchange exchange, Duration ttl, Consumer<CachedResponse> completion) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.ttl = ttl;
+            this.completion = completion;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isCacheable()) {
+                completion.accept(null);
+                return super.writeWith(body);
+            }
+            // Content-Length is absent on chunked responses, so the cap is enforced on the bytes seen:
+            // chunks are held until the body ends or passes the cap, and then cached or passed through
+            long limit = responseCache.getMaximumBodyBytes();
+            AtomicLong size = new AtomicLong();
+            return Flux.<DataBuffer>from(body)
+                    .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > limit)
+                    .switchOnFirst((first, chunks) -> {
+                        if (first.isOnError()) {
+                            return chunks;
+                        }
+                        if (size.get() > limit) {
+                            completion.accept(null);
+                            return super.writeWith(chunks.concatMapIterable(Function.identity()));
+                        }
+                        return chunks.singleOrEmpty()
+                                .map(ResponseCacheFilter::drain)
+                                .defaultIfEmpty(new byte[0])
+                                .flatMap(this::store);
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .then();
+        }
+
+        private Mono<Void> store(byte[] bytes) {
+            CachedResponse cached = new CachedResponse(bytes, getHeaders().getContentType(), ttl);
+            completion.accept(cached);
+            writeValidators(getHeaders(), cached);
+            getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            if (cached.matches(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                return getDelegate().setComplete();
+            }
+            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+
+        private boolean isCacheable() {
+            if (getStatusCode() != HttpStatus.OK
+                    || getHeaders().getContentLength() > responseCache.getMaximumBodyBytes()) {
+                return false;
+            }
+            String cacheControl = getHeaders().getCacheControl();
+            return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+        }
+    }
+}
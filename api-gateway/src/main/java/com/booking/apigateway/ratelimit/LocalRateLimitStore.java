@@ -0,0 +1,80 @@
+package com.booking.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory token buckets, one per key.
+ *
+ * Each bucket is a single {@link AtomicLong} holding the theoretical arrival
+ * time of the next request (GCRA), which is equivalent to a token bucket but
+ * can be updated with one compare-and-set and no lock. Idle buckets are full
+ * by definition, so they are simply evicted.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    @Autowired
+    public LocalRateLimitStore(RateLimitProperties properties) {
+        this(properties.getLocalMaximumKeys(), properties.longestPeriod());
+    }
+
+    public LocalRateLimitStore(long maximumKeys, Duration idleTimeout) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public Mono<RateLimitDecision> tryConsume(String key, RateLimitPolicy policy) {
+        return Mono.just(consume(key, policy, System.nanoTime()));
+    }
+
+    @Override
+    public Mono<Void> refund(String key, RateLimitPolicy policy) {
+        return Mono.fromRunnable(() -> refund(key, policy, System.nanoTime()));
+    }
+
+    RateLimitDecision consume(String key, RateLimitPolicy policy, long now) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(now));
+        long interval = policy.emissionIntervalNanos();
+        long tolerance = interval * policy.getCapacity();
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + interval;
+            long untilFull = next - now;
+            if (untilFull > tolerance) {
+                return RateLimitDecision.rejected(policy.getCapacity(), current - now, untilFull - tolerance);
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return RateLimitDecision.allowed(policy.getCapacity(), (tolerance - untilFull) / interval, untilFull);
+            }
+        }
+    }
+
+    void refund(String key, RateLimitPolicy policy, long now) {
+        AtomicLong arrival = buckets.getIfPresent(key);
+        if (arrival == null) {
+            return;
+        }
+        long interval = policy.emissionIntervalNanos();
+        while (true) {
+            long current = arrival.get();
+            // A bucket whose arrival time has passed is already full
+            if (current <= now || arrival.compareAndSet(current, Math.max(now, current - interval))) {
+                return;
+            }
+        }
+    }
+}
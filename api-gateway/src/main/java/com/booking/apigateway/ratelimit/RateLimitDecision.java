@@ -0,0 +1,55 @@
+package com.booking.apigateway.ratelimit;
+
+/**
+ * Outcome of taking one token from a bucket.
+ */
+public final class RateLimitDecision {
+
+    private final boolean allowed;
+    private final int limit;
+    private final long remaining;
+    private final long resetNanos;
+    private final long retryAfterNanos;
+
+    private RateLimitDecision(boolean allowed, int limit, long remaining, long resetNanos, long retryAfterNanos) {
+        this.allowed = allowed;
+        this.limit = limit;
+        this.remaining = remaining;
+        this.resetNanos = resetNanos;
+        this.retryAfterNanos = retryAfterNanos;
+    }
+
+    public static RateLimitDecision allowed(int limit, long remaining, long resetNanos) {
+        return new RateLimitDecision(true, limit, remaining, resetNanos, 0);
+    }
+
+    public static RateLimitDecision rejected(int limit, long resetNanos, long retryAfterNanos) {
+        return new RateLimitDecision(false, limit, 0, resetNanos, retryAfterNanos);
+    }
+
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Time until the bucket is full again.
+     */
+    public long getResetNanos() {
+        return resetNanos;
+    }
+
+    /**
+     * Time until the next token is available; zero when allowed.
+     */
+    public long getRetryAfterNanos() {
+        return retryAfterNanos;
+    }
+}
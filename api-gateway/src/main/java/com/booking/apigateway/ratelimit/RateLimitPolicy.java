@@ -0,0 +1,48 @@
+package com.booking.apigateway.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A token bucket: up to {@code capacity} requests, refilled evenly so that
+ * {@code capacity} tokens come back every {@code period}.
+ */
+public class RateLimitPolicy {
+
+    private int capacity;
+    private Duration period = Duration.ofMinutes(1);
+
+    public RateLimitPolicy() {
+    }
+
+    public RateLimitPolicy(int capacity, Duration period) {
+        this.capacity = capacity;
+        this.period = period;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Duration getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(Duration period) {
+        this.period = period;
+    }
+
+    public boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    /**
+     * Time it takes to refill a single token.
+     */
+    public long emissionIntervalNanos() {
+        return Math.max(1, period.toNanos() / capacity);
+    }
+}
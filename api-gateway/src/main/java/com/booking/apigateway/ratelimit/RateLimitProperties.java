@@ -0,0 +1,85 @@
+package com.booking.apigateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Limits applied by {@link com.booking.apigateway.filter.RateLimitFilter}.
+ * Authenticated requests are limited per user, anonymous ones per client IP,
+ * and a route listed under {@code routes} additionally gets one bucket shared
+ * by all of its callers. A capacity of 0 disables a limit.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private String store = "local";
+    private long localMaximumKeys = 100_000;
+    private RateLimitPolicy user = new RateLimitPolicy(300, Duration.ofMinutes(1));
+    private RateLimitPolicy ip = new RateLimitPolicy(120, Duration.ofMinutes(1));
+    private Map<String, RateLimitPolicy> routes = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getStore() {
+        return store;
+    }
+
+    public void setStore(String store) {
+        this.store = store;
+    }
+
+    public long getLocalMaximumKeys() {
+        return localMaximumKeys;
+    }
+
+    public void setLocalMaximumKeys(long localMaximumKeys) {
+        this.localMaximumKeys = localMaximumKeys;
+    }
+
+    public RateLimitPolicy getUser() {
+        return user;
+    }
+
+    public void setUser(RateLimitPolicy user) {
+        this.user = user;
+    }
+
+    public RateLimitPolicy getIp() {
+        return ip;
+    }
+
+    public void setIp(RateLimitPolicy ip) {
+        this.ip = ip;
+    }
+
+    public Map<String, RateLimitPolicy> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, RateLimitPolicy> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * A bucket idle for longer than this is full again and can be forgotten.
+     */
+    public Duration longestPeriod() {
+        return Stream.concat(Stream.of(user, ip), routes.values().stream())
+                .map(RateLimitPolicy::getPeriod)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+    }
+}
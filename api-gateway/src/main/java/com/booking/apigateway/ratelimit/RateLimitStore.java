@@ -0,0 +1,19 @@
+package com.booking.apigateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Holds token bucket state. The local store keeps buckets per gateway
+ * instance; a shared store enforces one limit across all instances.
+ */
+public interface RateLimitStore {
+
+    Mono<RateLimitDecision> tryConsume(String key, RateLimitPolicy policy);
+
+    /**
+     * Returns one token taken by an earlier {@link #tryConsume}, for a
+     * request that another bucket rejected. Never fills the bucket past its
+     * capacity.
+     */
+    Mono<Void> refund(String key, RateLimitPolicy policy);
+}
@@ -0,0 +1,90 @@
+package com.booking.apigateway.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets shared by every gateway instance, kept in Redis.
+ *
+ * Runs the same GCRA update as {@link LocalRateLimitStore} in a Lua script,
+ * so each decision is a single atomic round trip timed by the Redis clock.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limit.store", havingValue = "redis")
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // ARGV: emission interval and burst tolerance in microseconds.
+    // Returns {allowed, remaining or retry-after, reset} in microseconds.
+    private static final RedisScript<List> GCRA_SCRIPT = RedisScript.of("""
+            local interval = tonumber(ARGV[1])
+            local tolerance = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local tat = tonumber(redis.call('GET', KEYS[1])) or now
+            if tat < now then tat = now end
+            local nextTat = tat + interval
+            local untilFull = nextTat - now
+            if untilFull > tolerance then
+              return {0, untilFull - tolerance, tat - now}
+            end
+            redis.call('SET', KEYS[1], nextTat, 'PX', math.ceil(untilFull / 1000))
+            return {1, math.floor((tolerance - untilFull) / interval), untilFull}
+            """, List.class);
+
+    // ARGV: emission interval in microseconds. Moves the arrival time back by one
+    // interval, never before now, so the bucket cannot overfill.
+    private static final RedisScript<Long> REFUND_SCRIPT = RedisScript.of("""
+            local interval = tonumber(ARGV[1])
+            local tat = tonumber(redis.call('GET', KEYS[1]))
+            if not tat then return 0 end
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local refunded = tat - interval
+            if refunded <= now then
+              redis.call('DEL', KEYS[1])
+            else
+              redis.call('SET', KEYS[1], refunded, 'PX', math.ceil((refunded - now) / 1000))
+            end
+            return 1
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public RedisRateLimitStore(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Mono<RateLimitDecision> tryConsume(String key, RateLimitPolicy policy) {
+        long interval = Math.max(1, TimeUnit.NANOSECONDS.toMicros(policy.emissionIntervalNanos()));
+        long tolerance = interval * policy.getCapacity();
+        return redisTemplate.execute(GCRA_SCRIPT, List.of(KEY_PREFIX + key),
+                        List.of(Long.toString(interval), Long.toString(tolerance)))
+                .next()
+                .map(result -> {
+                    List<Long> values = (List<Long>) result;
+                    long reset = TimeUnit.MICROSECONDS.toNanos(values.get(2));
+                    if (values.get(0) == 1L) {
+                        return RateLimitDecision.allowed(policy.getCapacity(), values.get(1), reset);
+                    }
+                    return RateLimitDecision.rejected(policy.getCapacity(), reset,
+                            TimeUnit.MICROSECONDS.toNanos(values.get(1)));
+                });
+    }
+
+    @Override
+    public Mono<Void> refund(String key, RateLimitPolicy policy) {
+        long interval = Math.max(1, TimeUnit.NANOSECONDS.toMicros(policy.emissionIntervalNanos()));
+        return redisTemplate.execute(REFUND_SCRIPT, List.of(KEY_PREFIX + key), List.of(Long.toString(interval)))
+                .then();
+    }
+}
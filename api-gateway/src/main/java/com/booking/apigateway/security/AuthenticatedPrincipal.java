@@ -0,0 +1,36 @@
+package com.booking.apigateway.security;
+
+import java.time.Instant;
+
+/**
+ * Identity extracted from a verified JWT. Immutable, so one instance can be
+ * shared by every request that presents the same token.
+ */
+public final class AuthenticatedPrincipal {
+
+    private final String userId;
+    private final String role;
+    private final Instant expiresAt;
+
+    public AuthenticatedPrincipal(String userId, String role, Instant expiresAt) {
+        this.userId = userId;
+        this.role = role;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
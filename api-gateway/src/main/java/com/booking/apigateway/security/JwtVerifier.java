@@ -0,0 +1,150 @@
+package com.booking.apigateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Verifies a JWT once and turns it into an {@link AuthenticatedPrincipal}.
+ *
+ * The signing keys and parser are built at startup. Keys are looked up by
+ * the token's "kid" header from {@code jwt.key-id} plus
+ * {@code jwt.verification-keys}, the same settings user-service signs with,
+ * so a rotated secret is accepted here as soon as user-service issues it.
+ * Verified principals are cached by the SHA-256 of the token until the
+ * token's own expiry, so repeat requests from a session skip signature
+ * verification and claim parsing.
+ */
+@Component
+public class JwtVerifier {
+
+    // Upper bound on how long a verified token is trusted without re-checking it
+    private static final Duration MAX_CACHE_LIFETIME = Duration.ofHours(1);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final JwtParser parser;
+    private final Cache<String, AuthenticatedPrincipal> verified;
+
+    public JwtVerifier(@Value("${jwt.secret}") String jwtSecret,
+                       @Value("${jwt.key-id:primary}") String signingKeyId,
+                       @Value("${jwt.verification-keys:}") String additionalKeys,
+                       @Value("${jwt.cache.maximum-size:100000}") long maximumSize) {
+        Map<String, Key> verificationKeys = new HashMap<>();
+        verificationKeys.put(signingKeyId, Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)));
+        for (String entry : additionalKeys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator > 0) {
+                verificationKeys.put(entry.substring(0, separator).trim(),
+                        Keys.hmacShaKeyFor(entry.substring(separator + 1).trim().getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        // Tokens issued before key ids were introduced have no kid
+                        String keyId = header.getKeyId() != null ? header.getKeyId() : signingKeyId;
+                        Key key = verificationKeys.get(keyId);
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key id: " + keyId);
+                        }
+                        return key;
+                    }
+                })
+                .build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, AuthenticatedPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, AuthenticatedPrincipal principal, long currentTime) {
+                        return timeToLive(principal).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, AuthenticatedPrincipal principal,
+                                                  long currentTime, long currentDuration) {
+                        return timeToLive(principal).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, AuthenticatedPrincipal principal,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Returns the principal for a token, verifying it only on a cache miss.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public AuthenticatedPrincipal verify(String token) {
+        String key = hash(token);
+        AuthenticatedPrincipal principal = verified.getIfPresent(key);
+        if (principal != null && !principal.isExpired(Instant.now())) {
+            return principal;
+        }
+        principal = parse(token);
+        verified.put(key, principal);
+        return principal;
+    }
+
+    /**
+     * Verifies the signature and expiry and extracts the principal, bypassing the cache.
+     */
+    public AuthenticatedPrincipal parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        // user-service tokens carry the numeric id in "uid" and the username as subject
+        Object userId = claims.get("uid");
+        return new AuthenticatedPrincipal(
+                userId != null ? userId.toString() : claims.getSubject(),
+                claims.get("role", String.class),
+                expiration != null ? expiration.toInstant() : null);
+    }
+
+    private static Duration timeToLive(AuthenticatedPrincipal principal) {
+        if (principal.getExpiresAt() == null) {
+            return MAX_CACHE_LIFETIME;
+        }
+        Duration remaining = Duration.between(Instant.now(), principal.getExpiresAt());
+        if (remaining.isNegative()) {
+            return Duration.ZERO;
+        }
+        return remaining.compareTo(MAX_CACHE_LIFETIME) < 0 ? remaining : MAX_CACHE_LIFETIME;
+    }
+
+    private static String hash(String token) {
+        MessageDigest digest = SHA_256.get();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
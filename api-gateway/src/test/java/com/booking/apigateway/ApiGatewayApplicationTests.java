@@ -3,7 +3,7 @@ package com.booking.apigateway;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.cloud.compatibility-verifier.enabled=false")
 class ApiGatewayApplicationTests {
 
     @Test
@@ -0,0 +1,74 @@
+package com.booking.apigateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTests {
+
+    private final ResponseCache cache = new ResponseCache(properties(), new SimpleMeterRegistry());
+
+    private static ResponseCacheProperties properties() {
+        ResponseCacheProperties.CachedPath schedules = new ResponseCacheProperties.CachedPath();
+        schedules.setPattern("/api/doctors/{id}/schedules");
+        schedules.setTtl(Duration.ofMinutes(10));
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setPaths(List.of(schedules));
+        return properties;
+    }
+
+    private static CachedResponse response(String body) {
+        return new CachedResponse(body.getBytes(StandardCharsets.UTF_8), MediaType.APPLICATION_JSON, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void matchesConfiguredPathsOnly() {
+        assertEquals(Duration.ofMinutes(10), cache.ttlFor("/api/doctors/7/schedules"));
+        assertNull(cache.ttlFor("/api/doctors/7"));
+    }
+
+    @Test
+    void concurrentMissesShareOneFetch() {
+        CompletableFuture<CachedResponse> leader = new CompletableFuture<>();
+        assertNull(cache.joinInFlight("k", leader));
+
+        CompletableFuture<CachedResponse> follower = cache.joinInFlight("k", new CompletableFuture<>());
+        assertSame(leader, follower);
+
+        CachedResponse fetched = response("[]");
+        cache.complete("k", leader, cache.currentGeneration(), fetched);
+        assertSame(fetched, follower.join());
+        assertSame(fetched, cache.get("k"));
+    }
+
+    @Test
+    void fetchRacingAnInvalidationIsNotStored() {
+        CompletableFuture<CachedResponse> leader = new CompletableFuture<>();
+        cache.joinInFlight("k", leader);
+        long generation = cache.currentGeneration();
+
+        cache.invalidateAll();
+        cache.complete("k", leader, generation, response("[]"));
+
+        assertNull(cache.get("k"));
+        assertTrue(leader.isDone());
+    }
+
+    @Test
+    void etagMatchesIfNoneMatchVariants() {
+        CachedResponse cached = response("[{\"id\":1}]");
+        assertTrue(cached.matches(cached.getEtag()));
+        assertTrue(cached.matches("\"other\", W/" + cached.getEtag()));
+        assertTrue(cached.matches("*"));
+    }
+}
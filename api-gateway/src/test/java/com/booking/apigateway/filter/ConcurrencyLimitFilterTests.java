@@ -0,0 +1,56 @@
+package com.booking.apigateway.filter;
+
+import com.booking.apigateway.resilience.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConcurrencyLimitFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Route route = Route.async()
+            .id("doctor-service")
+            .uri("http://doctor-service:8084")
+            .predicate(exchange -> true)
+            .build();
+
+    private MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/doctors"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    @Test
+    void shedsRequestsOverTheRouteLimitAndReleasesSlots() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setRoutes(Map.of("doctor-service", 1));
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, meterRegistry);
+
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        Disposable slow = filter.filter(exchange(), e -> upstream.asMono()).subscribe();
+
+        MockServerWebExchange shed = exchange();
+        filter.filter(shed, e -> Mono.empty()).block();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shed.getResponse().getStatusCode());
+        assertEquals(1.0, meterRegistry.counter("gateway.concurrency.rejected", "route", "doctor-service").count());
+
+        upstream.tryEmitEmpty();
+        slow.dispose();
+
+        MockServerWebExchange admitted = exchange();
+        filter.filter(admitted, e -> Mono.empty()).block();
+        assertNull(admitted.getResponse().getStatusCode());
+    }
+}
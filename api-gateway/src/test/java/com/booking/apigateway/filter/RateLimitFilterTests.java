@@ -0,0 +1,112 @@
+package com.booking.apigateway.filter;
+
+import com.booking.apigateway.ratelimit.LocalRateLimitStore;
+import com.booking.apigateway.ratelimit.RateLimitPolicy;
+import com.booking.apigateway.ratelimit.RateLimitProperties;
+import com.booking.apigateway.security.AuthenticatedPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Drives the filter with the in-memory store standing in for a shared backend.
+ */
+class RateLimitFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+
+    private RateLimitFilter filterWithLimits(int userCapacity, int ipCapacity) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setUser(new RateLimitPolicy(userCapacity, Duration.ofMinutes(1)));
+        properties.setIp(new RateLimitPolicy(ipCapacity, Duration.ofMinutes(1)));
+        return new RateLimitFilter(properties, new LocalRateLimitStore(1000, Duration.ofMinutes(1)), meterRegistry);
+    }
+
+    private MockServerWebExchange anonymous(String ip) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/appointments/check-availability")
+                .remoteAddress(new InetSocketAddress(ip, 40000)));
+    }
+
+    @Test
+    void rejectsAnonymousCallerOverItsIpLimit() {
+        RateLimitFilter filter = filterWithLimits(10, 2);
+
+        MockServerWebExchange first = anonymous("10.0.0.1");
+        filter.filter(first, chain).block();
+        assertNull(first.getResponse().getStatusCode());
+        assertEquals("2", first.getResponse().getHeaders().getFirst("RateLimit-Limit"));
+        assertEquals("1", first.getResponse().getHeaders().getFirst("RateLimit-Remaining"));
+
+        filter.filter(anonymous("10.0.0.1"), chain).block();
+        MockServerWebExchange third = anonymous("10.0.0.1");
+        filter.filter(third, chain).block();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, third.getResponse().getStatusCode());
+        assertEquals("30", third.getResponse().getHeaders().getFirst("Retry-After"));
+        assertEquals(1.0, meterRegistry.counter("gateway.ratelimit.rejected", "scope", "ip", "route", "none").count());
+
+        MockServerWebExchange otherIp = anonymous("10.0.0.2");
+        filter.filter(otherIp, chain).block();
+        assertNull(otherIp.getResponse().getStatusCode());
+    }
+
+    @Test
+    void routeRejectionRefundsTheIpBucket() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setIp(new RateLimitPolicy(2, Duration.ofMinutes(1)));
+        properties.setRoutes(Map.of("appointment-availability", new RateLimitPolicy(1, Duration.ofMinutes(1))));
+        RateLimitFilter filter = new RateLimitFilter(properties,
+                new LocalRateLimitStore(1000, Duration.ofMinutes(1)), meterRegistry);
+        Route availability = Route.async()
+                .id("appointment-availability")
+                .uri("http://appointment-service:8081")
+                .predicate(exchange -> true)
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = anonymous("10.0.0.1");
+            exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, availability);
+            filter.filter(exchange, chain).block();
+            if (i > 0) {
+                assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+            }
+        }
+        assertEquals(2.0, meterRegistry.counter("gateway.ratelimit.rejected",
+                "scope", "route", "route", "appointment-availability").count());
+
+        // Only the first request reached the upstream, so one IP token is left
+        MockServerWebExchange elsewhere = anonymous("10.0.0.1");
+        filter.filter(elsewhere, chain).block();
+        assertNull(elsewhere.getResponse().getStatusCode());
+        assertEquals("0", elsewhere.getResponse().getHeaders().getFirst("RateLimit-Remaining"));
+    }
+
+    @Test
+    void limitsAuthenticatedCallersPerUser() {
+        RateLimitFilter filter = filterWithLimits(1, 100);
+
+        for (int i = 0; i < 2; i++) {
+            MockServerWebExchange exchange = anonymous("10.0.0.1");
+            exchange.getAttributes().put(JwtAuthenticationFilter.PRINCIPAL_ATTRIBUTE,
+                    new AuthenticatedPrincipal("42", "PATIENT", null));
+            filter.filter(exchange, chain).block();
+            if (i == 1) {
+                assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.booking.apigateway.filter;
+
+import com.booking.apigateway.cache.ResponseCache;
+import com.booking.apigateway.cache.ResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheFilterTests {
+
+    private static final String PATH = "/api/doctors/7/schedules";
+
+    private final ResponseCache cache = new ResponseCache(properties(), new SimpleMeterRegistry());
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(cache);
+
+    private static ResponseCacheProperties properties() {
+        ResponseCacheProperties.CachedPath schedules = new ResponseCacheProperties.CachedPath();
+        schedules.setPattern("/api/doctors/{id}/schedules");
+        schedules.setTtl(Duration.ofMinutes(10));
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setPaths(List.of(schedules));
+        properties.setMaximumBodyBytes(8);
+        return properties;
+    }
+
+    // Writes the chunks without a Content-Length, like a chunked upstream response
+    private static GatewayFilterChain chunked(String... chunks) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().writeWith(Flux.fromArray(chunks).map(ResponseCacheFilterTests::buffer));
+        };
+    }
+
+    private static DataBuffer buffer(String chunk) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void chunkedBodyUnderTheCapIsCached() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(PATH));
+
+        filter.filter(exchange, chunked("[1,", "2]")).block();
+
+        assertEquals("[1,2]", exchange.getResponse().getBodyAsString().block());
+        assertNotNull(cache.get(PATH));
+    }
+
+    @Test
+    void chunkedBodyOverTheCapPassesThroughUncached() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(PATH));
+
+        filter.filter(exchange, chunked("[1,2,", "3,4,", "5,6]")).block();
+
+        assertEquals("[1,2,3,4,5,6]", exchange.getResponse().getBodyAsString().block());
+        assertNull(cache.get(PATH));
+    }
+}
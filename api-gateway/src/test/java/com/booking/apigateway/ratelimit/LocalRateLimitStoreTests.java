@@ -0,0 +1,64 @@
+package com.booking.apigateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalRateLimitStoreTests {
+
+    private final LocalRateLimitStore store = new LocalRateLimitStore(1000, Duration.ofMinutes(1));
+    private final RateLimitPolicy policy = new RateLimitPolicy(3, Duration.ofSeconds(3));
+
+    @Test
+    void allowsBurstUpToCapacityThenRejects() {
+        long now = 0;
+        assertEquals(2, store.consume("k", policy, now).getRemaining());
+        assertEquals(1, store.consume("k", policy, now).getRemaining());
+        assertEquals(0, store.consume("k", policy, now).getRemaining());
+
+        RateLimitDecision rejected = store.consume("k", policy, now);
+        assertFalse(rejected.isAllowed());
+        assertEquals(Duration.ofSeconds(1).toNanos(), rejected.getRetryAfterNanos());
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        for (int i = 0; i < 3; i++) {
+            store.consume("k", policy, 0);
+        }
+        long oneSecond = Duration.ofSeconds(1).toNanos();
+        assertTrue(store.consume("k", policy, oneSecond).isAllowed());
+        assertFalse(store.consume("k", policy, oneSecond).isAllowed());
+    }
+
+    @Test
+    void refundReturnsATokenWithoutOverfilling() {
+        for (int i = 0; i < 3; i++) {
+            store.consume("k", policy, 0);
+        }
+        store.refund("k", policy, 0);
+        assertTrue(store.consume("k", policy, 0).isAllowed());
+        assertFalse(store.consume("k", policy, 0).isAllowed());
+
+        store.consume("full", policy, 0);
+        store.refund("full", policy, 0);
+        store.refund("full", policy, 0);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(store.consume("full", policy, 0).isAllowed());
+        }
+        assertFalse(store.consume("full", policy, 0).isAllowed());
+    }
+
+    @Test
+    void keepsKeysIndependent() {
+        for (int i = 0; i < 3; i++) {
+            store.consume("a", policy, 0);
+        }
+        assertFalse(store.consume("a", policy, 0).isAllowed());
+        assertTrue(store.consume("b", policy, 0).isAllowed());
+    }
+}
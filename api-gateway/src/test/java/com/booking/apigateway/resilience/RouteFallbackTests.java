@@ -0,0 +1,163 @@
+package com.booking.apigateway.resilience;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes pointed at a local stub upstream: failed and slow calls are answered
+ * by the fallback, GETs are retried within the time limiter, and a time
+ * limiter shorter than the response timeout cuts the call off.
+ */
+// Authentication is not under test; Boot's default reactive security chain would answer 401 first
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.cloud.compatibility-verifier.enabled=false",
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration,"
+                + "org.springframework.boot.actuate.autoconfigure.security.reactive.ReactiveManagementWebSecurityAutoConfiguration"
+})
+class RouteFallbackTests {
+
+    private static final long SLOW_MILLIS = 2_000;
+
+    private static final HttpServer upstream = start();
+    private static final AtomicInteger hits = new AtomicInteger();
+    private static final AtomicInteger responded = new AtomicInteger();
+    private static volatile int upstreamStatus;
+    private static volatile long upstreamDelayMillis;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private static HttpServer start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", RouteFallbackTests::respond);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        hits.incrementAndGet();
+        try {
+            Thread.sleep(upstreamDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = "[]".getBytes();
+        exchange.getResponseHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+        exchange.sendResponseHeaders(upstreamStatus, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+        responded.incrementAndGet();
+    }
+
+    // Routes are bound from a single property source, so both are declared in full here
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        String url = "http://localhost:" + upstream.getAddress().getPort();
+        // doctor-service: 300ms per GET attempt, time limiter above 3 attempts plus backoff
+        route(registry, 0, "doctor-service", url, "/api/doctors/**", 300);
+        registry.add("resilience4j.timelimiter.instances.doctor-service.timeout-duration", () -> "3s");
+        // user-service: the time limiter fires before the response timeout
+        route(registry, 1, "user-service", url, "/api/users/**", 5000);
+        registry.add("resilience4j.timelimiter.instances.user-service.timeout-duration", () -> "500ms");
+    }
+
+    private static void route(DynamicPropertyRegistry registry, int index, String id, String url,
+                              String path, int responseTimeoutMillis) {
+        String route = "spring.cloud.gateway.routes[" + index + "].";
+        registry.add(route + "id", () -> id);
+        registry.add(route + "uri", () -> url);
+        registry.add(route + "predicates[0]", () -> "Path=" + path);
+        registry.add(route + "metadata.connect-timeout", () -> 1000);
+        registry.add(route + "metadata.response-timeout", () -> responseTimeoutMillis);
+        registry.add(route + "filters[0].name", () -> "CircuitBreaker");
+        registry.add(route + "filters[0].args.name", () -> id);
+        registry.add(route + "filters[0].args.fallbackUri", () -> "forward:/fallback/" + id);
+        registry.add(route + "filters[0].args.statusCodes", () -> "BAD_GATEWAY,SERVICE_UNAVAILABLE,GATEWAY_TIMEOUT");
+        registry.add(route + "filters[1].name", () -> "Retry");
+        registry.add(route + "filters[1].args.retries", () -> 2);
+        registry.add(route + "filters[1].args.methods", () -> "GET");
+        registry.add(route + "filters[1].args.backoff.firstBackoff", () -> "50ms");
+        registry.add(route + "filters[1].args.backoff.maxBackoff", () -> "500ms");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop(0);
+    }
+
+    @BeforeEach
+    void resetUpstream() {
+        hits.set(0);
+        responded.set(0);
+        upstreamStatus = 200;
+        upstreamDelayMillis = 0;
+    }
+
+    @Test
+    void healthyUpstreamIsProxied() {
+        webTestClient.get().uri("/api/doctors/all")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("[]");
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void unavailableUpstreamIsAnsweredByTheFallback() {
+        upstreamStatus = 503;
+
+        webTestClient.get().uri("/api/doctors/all")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals("Retry-After", "5")
+                .expectBody().jsonPath("$.message").isEqualTo("doctor-service is temporarily unavailable, please retry shortly");
+    }
+
+    @Test
+    void slowGetIsRetriedBeforeFallingBack() {
+        upstreamDelayMillis = SLOW_MILLIS;
+
+        webTestClient.get().uri("/api/doctors/all")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody().jsonPath("$.message").isEqualTo("doctor-service is temporarily unavailable, please retry shortly");
+        assertEquals(3, hits.get(), "the time limiter cut the retries short");
+    }
+
+    @Test
+    void timeLimiterCutsOffASlowCall() {
+        upstreamDelayMillis = SLOW_MILLIS;
+
+        webTestClient.post().uri("/api/users/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{}")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody().jsonPath("$.message").isEqualTo("user-service is temporarily unavailable, please retry shortly");
+        assertEquals(1, hits.get());
+        assertEquals(0, responded.get(), "the fallback waited for the upstream");
+    }
+}
@@ -0,0 +1,75 @@
+package com.booking.apigateway.resilience;
+
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.filter.FilterDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The circuit breaker's time limiter wraps the Retry filter, so a limit
+ * shorter than every attempt of a GET would cut retries off and answer from
+ * the fallback while the upstream was still within its own timeouts.
+ */
+@SpringBootTest(properties = "spring.cloud.compatibility-verifier.enabled=false")
+class RouteTimeLimiterTests {
+
+    @Autowired
+    private GatewayProperties gatewayProperties;
+
+    @Autowired
+    private TimeLimiterRegistry timeLimiterRegistry;
+
+    @Test
+    void everyRouteTimeLimiterCoversItsRetries() {
+        assertFalse(gatewayProperties.getRoutes().isEmpty());
+        for (RouteDefinition route : gatewayProperties.getRoutes()) {
+            Optional<FilterDefinition> circuitBreaker = filter(route, "CircuitBreaker");
+            if (circuitBreaker.isEmpty()) {
+                continue;
+            }
+            String name = circuitBreaker.get().getArgs().get("name");
+            Duration limit = timeLimiterRegistry.timeLimiter(name).getTimeLimiterConfig().getTimeoutDuration();
+            Duration worstCase = worstCase(route);
+
+            assertTrue(limit.compareTo(worstCase) >= 0,
+                    route.getId() + ": time limiter " + name + " allows " + limit + " but the retries can take " + worstCase);
+        }
+    }
+
+    private static Duration worstCase(RouteDefinition route) {
+        Map<String, Object> metadata = route.getMetadata();
+        Duration attempt = Duration.ofMillis(Long.parseLong(String.valueOf(metadata.get("connect-timeout")))
+                + Long.parseLong(String.valueOf(metadata.get("response-timeout"))));
+        Optional<FilterDefinition> retry = filter(route, "Retry");
+        if (retry.isEmpty()) {
+            return attempt;
+        }
+        Map<String, String> args = retry.get().getArgs();
+        int retries = Integer.parseInt(args.getOrDefault("retries", "3"));
+        Duration backoff = DurationStyle.detectAndParse(args.get("backoff.firstBackoff"));
+        Duration maxBackoff = DurationStyle.detectAndParse(args.get("backoff.maxBackoff"));
+        int factor = Integer.parseInt(args.getOrDefault("backoff.factor", "2"));
+
+        Duration total = attempt.multipliedBy(retries + 1L);
+        for (int i = 0; i < retries; i++) {
+            total = total.plus(backoff);
+            backoff = backoff.multipliedBy(factor).compareTo(maxBackoff) < 0 ? backoff.multipliedBy(factor) : maxBackoff;
+        }
+        return total;
+    }
+
+    private static Optional<FilterDefinition> filter(RouteDefinition route, String name) {
+        return route.getFilters().stream().filter(filter -> filter.getName().equals(name)).findFirst();
+    }
+}
@@ -0,0 +1,49 @@
+package com.booking.apigateway.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtVerifierTests {
+
+    private static final String CURRENT = "currentGatewaySigningSecretThatIsLongEnough";
+    private static final String RETIRED = "retiredGatewaySigningSecretThatIsLongEnough";
+
+    private final JwtVerifier verifier = new JwtVerifier(CURRENT, "k2", "k1:" + RETIRED, 100);
+
+    private static String token(String secret, String keyId) {
+        JwtBuilder builder = Jwts.builder()
+                .setSubject("alice")
+                .claim("uid", 42)
+                .claim("role", "PATIENT")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+        return keyId != null ? builder.setHeaderParam(JwsHeader.KEY_ID, keyId).compact() : builder.compact();
+    }
+
+    @Test
+    void acceptsTheCurrentAndRetiredKeysByKeyId() {
+        assertEquals("42", verifier.parse(token(CURRENT, "k2")).getUserId());
+        assertEquals("42", verifier.parse(token(RETIRED, "k1")).getUserId());
+    }
+
+    @Test
+    void tokenWithoutKeyIdIsCheckedAgainstTheCurrentKey() {
+        assertEquals("42", verifier.parse(token(CURRENT, null)).getUserId());
+        assertThrows(JwtException.class, () -> verifier.parse(token(RETIRED, null)));
+    }
+
+    @Test
+    void unknownKeyIdIsRejected() {
+        assertThrows(JwtException.class, () -> verifier.parse(token(CURRENT, "k9")));
+    }
+}
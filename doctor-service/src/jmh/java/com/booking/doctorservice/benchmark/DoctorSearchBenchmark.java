@@ -0,0 +1,66 @@
+package com.booking.doctorservice.benchmark;
+
+import com.booking.doctorservice.DoctorServiceApplication;
+import com.booking.doctorservice.dto.DoctorSearchPage;
+import com.booking.doctorservice.service.DoctorService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency over 100k doctors in an embedded Postgres, through
+ * DoctorService so query parsing and paging are included. Sample mode
+ * reports the p99 alongside the mean.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class DoctorSearchBenchmark {
+
+    @Param({"cardi", "cardiolgy", "neuro smith", "doctor 4242"})
+    private String query;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private DoctorService doctorService;
+
+    @Setup
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(DoctorServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=postgres",
+                        "spring.jpa.show-sql=false")
+                .run();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("INSERT INTO doctors (name, specialization, qualification, bio) " +
+                "SELECT (ARRAY['Smith', 'Patel', 'Garcia', 'Chen', 'Okafor'])[g % 5 + 1] || ' Doctor ' || g, " +
+                "(ARRAY['Cardiology', 'Neurology', 'Dermatology', 'Pediatrics', 'Orthopedics', 'Oncology'])[g % 6 + 1], " +
+                "'MBBS', 'Practising since ' || (1980 + g % 40) FROM generate_series(1, 100000) g");
+        jdbcTemplate.execute("ANALYZE doctors");
+        doctorService = context.getBean(DoctorService.class);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public DoctorSearchPage search() {
+        return doctorService.searchDoctors(query, 0, 20);
+    }
+}
@@ -0,0 +1,69 @@
+package com.booking.doctorservice.config;
+
+import com.booking.doctorservice.model.Doctor;
+import com.booking.doctorservice.model.Schedule;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Second-level and query cache regions for the doctor catalog.
+ *
+ * Regions are Caffeine caches (W-TinyLFU eviction, size bounded) created up
+ * front with statistics enabled, handed to Hibernate as its JCache manager
+ * and exported as {@code cache.*} metrics tagged by region.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${doctor-cache.entity-maximum-size:10000}") long entityMaximumSize,
+                                              @Value("${doctor-cache.query-maximum-size:1000}") long queryMaximumSize) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), HibernateCacheConfig.class.getClassLoader());
+
+        Map<String, OptionalLong> regions = new LinkedHashMap<>();
+        regions.put(Doctor.CACHE_REGION, OptionalLong.of(entityMaximumSize));
+        regions.put(Doctor.SCHEDULES_CACHE_REGION, OptionalLong.of(entityMaximumSize));
+        regions.put(Schedule.CACHE_REGION, OptionalLong.of(entityMaximumSize * 5));
+        regions.put(QUERY_RESULTS_REGION, OptionalLong.of(queryMaximumSize));
+        // One entry per table; must never evict or cached queries could outlive an invalidation
+        regions.put(UPDATE_TIMESTAMPS_REGION, OptionalLong.empty());
+
+        regions.forEach((name, maximumSize) -> {
+            if (cacheManager.getCache(name) == null) {
+                CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+                configuration.setMaximumSize(maximumSize);
+                configuration.setStatisticsEnabled(true);
+                cacheManager.createCache(name, configuration);
+            }
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> hibernateCacheManager.getCacheNames().forEach(name ->
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name)));
+    }
+}
@@ -1,13 +1,25 @@
 package com.booking.doctorservice.controller;
 
+import com.booking.doctorservice.dto.BulkImportResult;
+import com.booking.doctorservice.dto.DoctorDetail;
+import com.booking.doctorservice.dto.DoctorSearchPage;
+import com.booking.doctorservice.dto.DoctorSummary;
+import com.booking.doctorservice.dto.ScheduleView;
 import com.booking.doctorservice.model.Doctor;
 import com.booking.doctorservice.model.Schedule;
+import com.booking.doctorservice.service.BulkFormat;
+import com.booking.doctorservice.service.DoctorBulkService;
 import com.booking.doctorservice.service.DoctorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.DayOfWeek;
 import java.util.List;
 
@@ -16,35 +28,37 @@ import java.util.List;
 public class DoctorController {
 
     private final DoctorService doctorService;
+    private final DoctorBulkService doctorBulkService;
 
     @Autowired
-    public DoctorController(DoctorService doctorService) {
+    public DoctorController(DoctorService doctorService, DoctorBulkService doctorBulkService) {
         this.doctorService = doctorService;
+        this.doctorBulkService = doctorBulkService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Doctor>> getAllDoctors() {
+    public ResponseEntity<List<DoctorSummary>> getAllDoctors() {
         return ResponseEntity.ok(doctorService.getAllDoctors());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Doctor> getDoctorById(@PathVariable Long id) {
+    public ResponseEntity<DoctorDetail> getDoctorById(@PathVariable Long id) {
         return doctorService.getDoctorById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<Doctor> createDoctor(@RequestBody Doctor doctor) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(doctorService.saveDoctor(doctor));
+    public ResponseEntity<DoctorDetail> createDoctor(@RequestBody Doctor doctor) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(DoctorDetail.from(doctorService.saveDoctor(doctor)));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Doctor> updateDoctor(@PathVariable Long id, @RequestBody Doctor doctor) {
+    public ResponseEntity<DoctorDetail> updateDoctor(@PathVariable Long id, @RequestBody Doctor doctor) {
         return doctorService.getDoctorById(id)
                 .map(existingDoctor -> {
                     doctor.setId(id);
-                    return ResponseEntity.ok(doctorService.saveDoctor(doctor));
+                    return ResponseEntity.ok(DoctorDetail.from(doctorService.saveDoctor(doctor)));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -60,13 +74,23 @@ public class DoctorController {
     }
 
     @GetMapping("/specialization/{specialization}")
-    public ResponseEntity<List<Doctor>> getDoctorsBySpecialization(@PathVariable String specialization) {
+    public ResponseEntity<List<DoctorSummary>> getDoctorsBySpecialization(@PathVariable String specialization) {
         return ResponseEntity.ok(doctorService.getDoctorsBySpecialization(specialization));
     }
 
-    @GetMapping("/search")
-    public ResponseEntity<List<Doctor>> searchDoctorsByName(@RequestParam String name) {
-        return ResponseEntity.ok(doctorService.searchDoctorsByName(name));
+    // Searches name, specialization, qualification and bio, one page at a time
+    @GetMapping(value = "/search", params = "!name")
+    public ResponseEntity<DoctorSearchPage> searchDoctors(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(doctorService.searchDoctors(q, page, size));
+    }
+
+    // The original ?name= form still answers with a plain array: the best matches, up to one maximum-size page
+    @GetMapping(value = "/search", params = "name")
+    public ResponseEntity<List<DoctorSummary>> searchDoctorsByName(@RequestParam String name) {
+        return ResponseEntity.ok(doctorService.searchDoctors(name, 0, Integer.MAX_VALUE).getItems());
     }
 
     @GetMapping("/specializations")
@@ -76,23 +100,23 @@ public class DoctorController {
 
     // Schedule management endpoints
     @GetMapping("/{doctorId}/schedules")
-    public ResponseEntity<List<Schedule>> getDoctorSchedules(@PathVariable Long doctorId) {
+    public ResponseEntity<List<ScheduleView>> getDoctorSchedules(@PathVariable Long doctorId) {
         return ResponseEntity.ok(doctorService.getDoctorSchedules(doctorId));
     }
 
     @GetMapping("/{doctorId}/schedules/day/{dayOfWeek}")
-    public ResponseEntity<List<Schedule>> getDoctorSchedulesByDay(
+    public ResponseEntity<List<ScheduleView>> getDoctorSchedulesByDay(
             @PathVariable Long doctorId,
             @PathVariable DayOfWeek dayOfWeek) {
         return ResponseEntity.ok(doctorService.getDoctorSchedulesByDay(doctorId, dayOfWeek));
     }
 
     @PostMapping("/{doctorId}/schedules")
-    public ResponseEntity<Schedule> addScheduleToDoctor(
+    public ResponseEntity<ScheduleView> addScheduleToDoctor(
             @PathVariable Long doctorId,
             @RequestBody Schedule schedule) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(doctorService.addScheduleToDoctor(doctorId, schedule));
+                .body(ScheduleView.from(doctorService.addScheduleToDoctor(doctorId, schedule)));
     }
 
     @DeleteMapping("/schedules/{scheduleId}")
@@ -105,4 +129,39 @@ public class DoctorController {
     public ResponseEntity<List<DayOfWeek>> getAvailableDaysForDoctor(@PathVariable Long doctorId) {
         return ResponseEntity.ok(doctorService.getAvailableDaysForDoctor(doctorId));
     }
-}
\ No newline at end of file
+
+    // Bulk import and export, as text/csv (with a header row) or application/x-ndjson
+    @PostMapping(value = "/import", consumes = {BulkFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResult> importDoctors(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        BulkFormat format = BulkFormat.fromMediaType(contentType).orElseThrow();
+        return ResponseEntity.ok(doctorBulkService.importDoctors(body, format));
+    }
+
+    @PostMapping(value = "/schedules/import", consumes = {BulkFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResult> importSchedules(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        BulkFormat format = BulkFormat.fromMediaType(contentType).orElseThrow();
+        return ResponseEntity.ok(doctorBulkService.importSchedules(body, format));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDoctors(@RequestParam(defaultValue = "ndjson") String format) {
+        return BulkFormat.fromName(format)
+                .map(bulkFormat -> ResponseEntity.ok()
+                        .contentType(bulkFormat.getMediaType())
+                        .body((StreamingResponseBody) output -> doctorBulkService.exportDoctors(output, bulkFormat)))
+                .orElse(ResponseEntity.badRequest().build());
+    }
+
+    @GetMapping("/schedules/export")
+    public ResponseEntity<StreamingResponseBody> exportSchedules(@RequestParam(defaultValue = "ndjson") String format) {
+        return BulkFormat.fromName(format)
+                .map(bulkFormat -> ResponseEntity.ok()
+                        .contentType(bulkFormat.getMediaType())
+                        .body((StreamingResponseBody) output -> doctorBulkService.exportSchedules(output, bulkFormat)))
+                .orElse(ResponseEntity.badRequest().build());
+    }
+}
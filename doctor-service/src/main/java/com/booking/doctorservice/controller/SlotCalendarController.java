@@ -0,0 +1,74 @@
+package com.booking.doctorservice.controller;
+
+import com.booking.doctorservice.dto.SlotView;
+import com.booking.doctorservice.model.ScheduleException;
+import com.booking.doctorservice.service.SlotCalendarService;
+import com.booking.doctorservice.service.SlotCalendarValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/doctors")
+public class SlotCalendarController {
+
+    private static final long MAX_SLOT_RANGE_DAYS = 92;
+
+    private final SlotCalendarService slotCalendarService;
+
+    @Autowired
+    public SlotCalendarController(SlotCalendarService slotCalendarService) {
+        this.slotCalendarService = slotCalendarService;
+    }
+
+    // Concrete slots from the weekly schedules, minus exceptions; dates past the calendar horizon have none
+    @GetMapping("/{doctorId}/slots")
+    public ResponseEntity<List<SlotView>> getSlots(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_SLOT_RANGE_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(slotCalendarService.getSlots(doctorId, from, to));
+    }
+
+    @GetMapping("/{doctorId}/exceptions")
+    public ResponseEntity<List<ScheduleException>> getExceptions(@PathVariable Long doctorId) {
+        return ResponseEntity.ok(slotCalendarService.getExceptions(doctorId));
+    }
+
+    @PostMapping("/{doctorId}/exceptions")
+    public ResponseEntity<ScheduleException> addException(
+            @PathVariable Long doctorId,
+            @RequestBody ScheduleException exception) {
+        exception.setId(null);
+        exception.setDoctorId(doctorId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(slotCalendarService.addException(exception));
+    }
+
+    // A holiday blocks the date (or the given hours) for every doctor
+    @PostMapping("/holidays")
+    public ResponseEntity<ScheduleException> addHoliday(@RequestBody ScheduleException holiday) {
+        holiday.setId(null);
+        holiday.setDoctorId(null);
+        return ResponseEntity.status(HttpStatus.CREATED).body(slotCalendarService.addException(holiday));
+    }
+
+    @DeleteMapping("/exceptions/{exceptionId}")
+    public ResponseEntity<Void> removeException(@PathVariable Long exceptionId) {
+        slotCalendarService.removeException(exceptionId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(SlotCalendarValidationException.class)
+    public ResponseEntity<String> handleInvalidException(SlotCalendarValidationException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
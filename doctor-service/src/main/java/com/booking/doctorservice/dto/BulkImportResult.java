@@ -0,0 +1,58 @@
+package com.booking.doctorservice.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Rows are numbered from 1 in input order, not
+ * counting a CSV header; only the first errors are listed, {@code failed}
+ * counts all of them.
+ */
+public class BulkImportResult {
+
+    private final long received;
+    private final long imported;
+    private final long failed;
+    private final List<RowError> errors;
+
+    public BulkImportResult(long received, long imported, long failed, List<RowError> errors) {
+        this.received = received;
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public static class RowError {
+
+        private final long row;
+        private final String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.booking.doctorservice.dto;
+
+import com.booking.doctorservice.model.Doctor;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Detail view of a doctor with its weekly schedules, ordered by day and
+ * start time.
+ */
+public class DoctorDetail {
+
+    private final Long id;
+    private final String name;
+    private final String specialization;
+    private final String qualification;
+    private final String experience;
+    private final String bio;
+    private final String profileImage;
+    private final List<ScheduleView> schedules;
+
+    public DoctorDetail(Long id, String name, String specialization, String qualification, String experience,
+                        String bio, String profileImage, List<ScheduleView> schedules) {
+        this.id = id;
+        this.name = name;
+        this.specialization = specialization;
+        this.qualification = qualification;
+        this.experience = experience;
+        this.bio = bio;
+        this.profileImage = profileImage;
+        this.schedules = schedules;
+    }
+
+    /**
+     * Copies a doctor whose schedules are already loaded.
+     */
+    public static DoctorDetail from(Doctor doctor) {
+        List<ScheduleView> schedules = doctor.getSchedules().stream()
+                .map(ScheduleView::from)
+                .sorted(Comparator.comparing(ScheduleView::getDayOfWeek)
+                        .thenComparing(ScheduleView::getStartTime))
+                .toList();
+        return new DoctorDetail(doctor.getId(), doctor.getName(), doctor.getSpecialization(),
+                doctor.getQualification(), doctor.getExperience(), doctor.getBio(), doctor.getProfileImage(),
+                schedules);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public String getQualification() {
+        return qualification;
+    }
+
+    public String getExperience() {
+        return experience;
+    }
+
+    public String getBio() {
+        return bio;
+    }
+
+    public String getProfileImage() {
+        return profileImage;
+    }
+
+    public List<ScheduleView> getSchedules() {
+        return schedules;
+    }
+}
@@ -0,0 +1,63 @@
+package com.booking.doctorservice.dto;
+
+/**
+ * One doctor in a bulk import. Uses the export columns, so an {@code id}
+ * column is accepted and ignored; new ids are always assigned.
+ */
+public class DoctorImportRow {
+
+    private String name;
+    private String specialization;
+    private String qualification;
+    private String experience;
+    private String bio;
+    private String profileImage;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public void setSpecialization(String specialization) {
+        this.specialization = specialization;
+    }
+
+    public String getQualification() {
+        return qualification;
+    }
+
+    public void setQualification(String qualification) {
+        this.qualification = qualification;
+    }
+
+    public String getExperience() {
+        return experience;
+    }
+
+    public void setExperience(String experience) {
+        this.experience = experience;
+    }
+
+    public String getBio() {
+        return bio;
+    }
+
+    public void setBio(String bio) {
+        this.bio = bio;
+    }
+
+    public String getProfileImage() {
+        return profileImage;
+    }
+
+    public void setProfileImage(String profileImage) {
+        this.profileImage = profileImage;
+    }
+}
@@ -0,0 +1,38 @@
+package com.booking.doctorservice.dto;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results. {@code hasMore} tells the client
+ * whether to request {@code page + 1}.
+ */
+public class DoctorSearchPage {
+
+    private final List<DoctorSummary> items;
+    private final int page;
+    private final int size;
+    private final boolean hasMore;
+
+    public DoctorSearchPage(List<DoctorSummary> items, int page, int size, boolean hasMore) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.hasMore = hasMore;
+    }
+
+    public List<DoctorSummary> getItems() {
+        return items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
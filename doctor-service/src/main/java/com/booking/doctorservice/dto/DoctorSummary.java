@@ -0,0 +1,55 @@
+package com.booking.doctorservice.dto;
+
+/**
+ * List view of a doctor, without schedules. Built directly by a JPQL
+ * constructor expression so a catalog page is a single query.
+ */
+public class DoctorSummary {
+
+    private final Long id;
+    private final String name;
+    private final String specialization;
+    private final String qualification;
+    private final String experience;
+    private final String bio;
+    private final String profileImage;
+
+    public DoctorSummary(Long id, String name, String specialization, String qualification,
+                         String experience, String bio, String profileImage) {
+        this.id = id;
+        this.name = name;
+        this.specialization = specialization;
+        this.qualification = qualification;
+        this.experience = experience;
+        this.bio = bio;
+        this.profileImage = profileImage;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public String getQualification() {
+        return qualification;
+    }
+
+    public String getExperience() {
+        return experience;
+    }
+
+    public String getBio() {
+        return bio;
+    }
+
+    public String getProfileImage() {
+        return profileImage;
+    }
+}
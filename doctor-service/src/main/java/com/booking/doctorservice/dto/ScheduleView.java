@@ -0,0 +1,61 @@
+package com.booking.doctorservice.dto;
+
+import com.booking.doctorservice.model.Schedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Weekly schedule row. Carries the doctor id instead of the lazy doctor
+ * association, so serializing it never touches the database.
+ */
+public class ScheduleView {
+
+    private final Long id;
+    private final Long doctorId;
+    private final DayOfWeek dayOfWeek;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final Integer slotDurationMinutes;
+
+    public ScheduleView(Long id, Long doctorId, DayOfWeek dayOfWeek, LocalTime startTime,
+                        LocalTime endTime, Integer slotDurationMinutes) {
+        this.id = id;
+        this.doctorId = doctorId;
+        this.dayOfWeek = dayOfWeek;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.slotDurationMinutes = slotDurationMinutes;
+    }
+
+    public static ScheduleView from(Schedule schedule) {
+        // Reading the id of a lazy proxy does not initialize it
+        Long doctorId = schedule.getDoctor() != null ? schedule.getDoctor().getId() : null;
+        return new ScheduleView(schedule.getId(), doctorId, schedule.getDayOfWeek(), schedule.getStartTime(),
+                schedule.getEndTime(), schedule.getSlotDurationMinutes());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public Integer getSlotDurationMinutes() {
+        return slotDurationMinutes;
+    }
+}
@@ -0,0 +1,33 @@
+package com.booking.doctorservice.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A concrete slot from the materialized calendar. Whether it is booked is
+ * known only to appointment-service.
+ */
+public class SlotView {
+
+    private final LocalDate date;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+
+    public SlotView(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+}
@@ -1,6 +1,9 @@
 package com.booking.doctorservice.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.util.HashSet;
@@ -8,10 +11,19 @@ import java.util.Set;
 
 @Entity
 @Table(name = "doctors")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Doctor.CACHE_REGION)
 public class Doctor {
 
+    public static final String CACHE_REGION = "doctors";
+    public static final String ID_SEQUENCE = "doctors_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String SCHEDULES_CACHE_REGION = "doctor-schedules";
+    public static final String SCHEDULES_ROLE = "com.booking.doctorservice.model.Doctor.schedules";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -31,6 +43,8 @@ public class Doctor {
     private String profileImage;
 
     @OneToMany(mappedBy = "doctor", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Doctor.SCHEDULES_CACHE_REGION)
+    @BatchSize(size = 50)
     private Set<Schedule> schedules = new HashSet<>();
 
     // Constructors
@@ -1,15 +1,24 @@
 package com.booking.doctorservice.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 
 @Entity
 @Table(name = "schedules")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Schedule.CACHE_REGION)
 public class Schedule {
 
+    public static final String CACHE_REGION = "schedules";
+    public static final String ID_SEQUENCE = "schedules_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Enumerated(EnumType.STRING)
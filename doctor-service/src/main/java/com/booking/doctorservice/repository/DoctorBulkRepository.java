@@ -0,0 +1,173 @@
+package com.booking.doctorservice.repository;
+
+import com.booking.doctorservice.dto.DoctorImportRow;
+import com.booking.doctorservice.dto.DoctorSummary;
+import com.booking.doctorservice.dto.ScheduleImportRow;
+import com.booking.doctorservice.dto.ScheduleView;
+import com.booking.doctorservice.model.Doctor;
+import com.booking.doctorservice.model.Schedule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access for bulk import and export, bypassing the persistence
+ * context. Inserts are sent as JDBC batches with ids taken from the same
+ * sequences and block size as the entities, so rows written here and rows
+ * written through Hibernate never collide. Callers are responsible for
+ * evicting the second-level cache.
+ */
+@Repository
+public class DoctorBulkRepository {
+
+    private static final String INSERT_DOCTOR_SQL =
+            "INSERT INTO doctors (id, name, specialization, qualification, experience, bio, profile_image) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SCHEDULE_SQL =
+            "INSERT INTO schedules (id, doctor_id, day_of_week, start_time, end_time, slot_duration_minutes) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public DoctorBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Long> allocateDoctorIds(int count) {
+        return allocateIds(Doctor.ID_SEQUENCE, Doctor.ID_ALLOCATION_SIZE, count);
+    }
+
+    public List<Long> allocateScheduleIds(int count) {
+        return allocateIds(Schedule.ID_SEQUENCE, Schedule.ID_ALLOCATION_SIZE, count);
+    }
+
+    // Each nextval reserves [value, value + allocationSize), as with Hibernate's pooled-lo optimizer
+    private List<Long> allocateIds(String sequence, int allocationSize, int count) {
+        int blocks = (count + allocationSize - 1) / allocationSize;
+        List<Long> starts = jdbcTemplate.queryForList(
+                "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, blocks);
+        List<Long> ids = new ArrayList<>(count);
+        for (Long start : starts) {
+            for (int i = 0; i < allocationSize && ids.size() < count; i++) {
+                ids.add(start + i);
+            }
+        }
+        return ids;
+    }
+
+    public void insertDoctors(List<Long> ids, List<DoctorImportRow> rows) {
+        batchInsert(INSERT_DOCTOR_SQL, rows.size(), (ps, i) -> {
+            DoctorImportRow row = rows.get(i);
+            ps.setLong(1, ids.get(i));
+            ps.setString(2, row.getName());
+            ps.setString(3, row.getSpecialization());
+            ps.setString(4, row.getQualification());
+            ps.setString(5, row.getExperience());
+            ps.setString(6, row.getBio());
+            ps.setString(7, row.getProfileImage());
+        });
+    }
+
+    public void insertSchedules(List<Long> ids, List<ScheduleImportRow> rows) {
+        batchInsert(INSERT_SCHEDULE_SQL, rows.size(), (ps, i) -> {
+            ScheduleImportRow row = rows.get(i);
+            ps.setLong(1, ids.get(i));
+            ps.setLong(2, row.getDoctorId());
+            ps.setString(3, row.getDayOfWeek().name());
+            ps.setTime(4, Time.valueOf(row.getStartTime()));
+            ps.setTime(5, Time.valueOf(row.getEndTime()));
+            if (row.getSlotDurationMinutes() != null) {
+                ps.setInt(6, row.getSlotDurationMinutes());
+            } else {
+                ps.setNull(6, Types.INTEGER);
+            }
+        });
+    }
+
+    public Set<Long> findExistingDoctorIds(Collection<Long> doctorIds) {
+        if (doctorIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT id FROM doctors WHERE id = ANY (?)");
+            ps.setArray(1, con.createArrayOf("bigint", doctorIds.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1)));
+    }
+
+    /**
+     * Streams every doctor in id order. Must run inside a transaction so the
+     * driver can fetch through a cursor instead of loading the whole table.
+     */
+    public void streamDoctors(Consumer<DoctorSummary> consumer) {
+        stream("SELECT id, name, specialization, qualification, experience, bio, profile_image " +
+                "FROM doctors ORDER BY id", rs -> consumer.accept(new DoctorSummary(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("specialization"),
+                rs.getString("qualification"),
+                rs.getString("experience"),
+                rs.getString("bio"),
+                rs.getString("profile_image"))));
+    }
+
+    /**
+     * Streams every schedule ordered by doctor, day and start time. Must run
+     * inside a transaction, as for {@link #streamDoctors}.
+     */
+    public void streamSchedules(Consumer<ScheduleView> consumer) {
+        stream("SELECT id, doctor_id, day_of_week, start_time, end_time, slot_duration_minutes " +
+                "FROM schedules ORDER BY doctor_id, day_of_week, start_time", rs -> consumer.accept(new ScheduleView(
+                rs.getLong("id"),
+                rs.getObject("doctor_id", Long.class),
+                DayOfWeek.valueOf(rs.getString("day_of_week")),
+                rs.getTime("start_time").toLocalTime(),
+                rs.getTime("end_time").toLocalTime(),
+                rs.getObject("slot_duration_minutes", Integer.class))));
+    }
+
+    private void batchInsert(String sql, int size, RowBinder binder) {
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                binder.bind(ps, i);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return size;
+            }
+        });
+    }
+
+    private void stream(String sql, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            return ps;
+        }, handler);
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, int index) throws SQLException;
+    }
+}
@@ -1,20 +1,34 @@
 package com.booking.doctorservice.repository;
 
+import com.booking.doctorservice.dto.DoctorSummary;
 import com.booking.doctorservice.model.Doctor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
-    
-    List<Doctor> findBySpecialization(String specialization);
+
+    String SUMMARY_SELECT = "SELECT new com.booking.doctorservice.dto.DoctorSummary(" +
+            "d.id, d.name, d.specialization, d.qualification, d.experience, d.bio, d.profileImage) FROM Doctor d ";
+
+    // Catalog reads go through the Hibernate query cache; writes to doctors invalidate them
+    @Query(SUMMARY_SELECT + "ORDER BY d.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<DoctorSummary> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE d.specialization = :specialization ORDER BY d.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<DoctorSummary> findSummariesBySpecialization(@Param("specialization") String specialization);
     
     @Query("SELECT DISTINCT d.specialization FROM Doctor d")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<String> findAllSpecializations();
-    
-    // Find doctors by name containing the search term (case insensitive)
-    List<Doctor> findByNameContainingIgnoreCase(String name);
-}
\ No newline at end of file
+
+}
@@ -0,0 +1,60 @@
+package com.booking.doctorservice.repository;
+
+import com.booking.doctorservice.dto.DoctorSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Ranked doctor search over the generated search_vector (full text, prefix)
+ * and search_text (trigram, typo tolerant) columns from V2__doctor_search.
+ * Both predicates are served by GIN indexes.
+ */
+@Repository
+public class DoctorSearchRepository {
+
+    static final String SEARCH_SQL = """
+            SELECT d.id, d.name, d.specialization, d.qualification, d.experience, d.bio, d.profile_image
+            FROM doctors d, to_tsquery('simple', :tsquery) query
+            WHERE d.search_vector @@ query OR :text <% d.search_text
+            ORDER BY ts_rank(d.search_vector, query) + word_similarity(:text, d.search_text) DESC, d.id
+            LIMIT :limit OFFSET :offset
+            """;
+
+    private static final RowMapper<DoctorSummary> SUMMARY_MAPPER = (rs, rowNum) -> new DoctorSummary(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("specialization"),
+            rs.getString("qualification"),
+            rs.getString("experience"),
+            rs.getString("bio"),
+            rs.getString("profile_image"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public DoctorSearchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Sets the trigram match threshold for the rest of the current transaction.
+     */
+    public void setSimilarityThreshold(double threshold) {
+        jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)",
+                new MapSqlParameterSource("threshold", Double.toString(threshold)), String.class);
+    }
+
+    public List<DoctorSummary> search(String tsquery, String text, int limit, long offset) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tsquery", tsquery)
+                .addValue("text", text)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        return jdbcTemplate.query(SEARCH_SQL, params, SUMMARY_MAPPER);
+    }
+}
@@ -0,0 +1,19 @@
+package com.booking.doctorservice.repository;
+
+import com.booking.doctorservice.model.ScheduleException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ScheduleExceptionRepository extends JpaRepository<ScheduleException, Long> {
+
+    // The doctor's own exceptions plus holidays, in date order
+    @Query("SELECT e FROM ScheduleException e WHERE (e.doctorId = :doctorId OR e.doctorId IS NULL) " +
+            "AND e.date >= :from ORDER BY e.date, e.startTime")
+    List<ScheduleException> findForDoctorFrom(@Param("doctorId") Long doctorId, @Param("from") LocalDate from);
+}
@@ -0,0 +1,143 @@
+package com.booking.doctorservice.repository;
+
+import com.booking.doctorservice.dto.SlotView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The materialized slot calendar from V4__slot_calendar. Slots are generated
+ * in SQL from the weekly schedules, skipping any that overlap a schedule
+ * exception, and read back as a range scan on ix_slots_doctor_date.
+ */
+@Repository
+public class SlotCalendarRepository {
+
+    // %s narrows the schedules that are expanded
+    private static final String GENERATE_SQL = """
+            INSERT INTO slots (schedule_id, doctor_id, slot_date, start_time, end_time)
+            SELECT s.id, s.doctor_id, CAST(d.day AS date), CAST(t.slot_start AS time),
+                   CAST(t.slot_start + step.length AS time)
+            FROM schedules s
+            CROSS JOIN LATERAL (SELECT make_interval(mins => COALESCE(s.slot_duration_minutes, 30)) AS length) step
+            CROSS JOIN generate_series(CAST(:from AS timestamp), CAST(:to AS timestamp), interval '1 day') AS d(day)
+            CROSS JOIN LATERAL generate_series(d.day + CAST(s.start_time AS interval),
+                                               d.day + CAST(s.end_time AS interval) - step.length,
+                                               step.length) AS t(slot_start)
+            WHERE s.doctor_id IS NOT NULL
+              AND COALESCE(s.slot_duration_minutes, 30) > 0
+              AND array_position(ARRAY['MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY'],
+                                 CAST(s.day_of_week AS text)) = EXTRACT(ISODOW FROM d.day)
+              AND %s
+              AND NOT EXISTS (
+                  SELECT 1 FROM schedule_exceptions e
+                  WHERE e.exception_date = CAST(d.day AS date)
+                    AND (e.doctor_id IS NULL OR e.doctor_id = s.doctor_id)
+                    AND (e.start_time IS NULL
+                         OR (e.start_time < CAST(t.slot_start + step.length AS time)
+                             AND e.end_time > CAST(t.slot_start AS time))))
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String ALL_SCHEDULES = "TRUE";
+    private static final String DOCTOR_SCHEDULES = "s.doctor_id = :doctorId";
+    private static final String LISTED_SCHEDULES = "s.id IN (:scheduleIds)";
+
+    private static final RowMapper<SlotView> SLOT_MAPPER = (rs, rowNum) -> new SlotView(
+            rs.getDate("slot_date").toLocalDate(),
+            rs.getTime("start_time").toLocalTime(),
+            rs.getTime("end_time").toLocalTime());
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SlotCalendarRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<SlotView> findSlots(Long doctorId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                SELECT slot_date, start_time, end_time FROM slots
+                WHERE doctor_id = :doctorId AND slot_date BETWEEN :from AND :to
+                ORDER BY slot_date, start_time
+                """, range(from, to).addValue("doctorId", doctorId), SLOT_MAPPER);
+    }
+
+    public int generateAll(LocalDate from, LocalDate to) {
+        return jdbcTemplate.update(GENERATE_SQL.formatted(ALL_SCHEDULES), range(from, to));
+    }
+
+    public int generateForDoctor(Long doctorId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.update(GENERATE_SQL.formatted(DOCTOR_SCHEDULES),
+                range(from, to).addValue("doctorId", doctorId));
+    }
+
+    public int generateForSchedules(Collection<Long> scheduleIds, LocalDate from, LocalDate to) {
+        if (scheduleIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(GENERATE_SQL.formatted(LISTED_SCHEDULES),
+                range(from, to).addValue("scheduleIds", scheduleIds));
+    }
+
+    public int deleteForDoctorFrom(Long doctorId, LocalDate from) {
+        return jdbcTemplate.update("DELETE FROM slots WHERE doctor_id = :doctorId AND slot_date >= :from",
+                new MapSqlParameterSource("doctorId", doctorId).addValue("from", Date.valueOf(from)));
+    }
+
+    public int deleteBefore(LocalDate date) {
+        return jdbcTemplate.update("DELETE FROM slots WHERE slot_date < :date",
+                new MapSqlParameterSource("date", Date.valueOf(date)));
+    }
+
+    /**
+     * Removes slots overlapping an exception: for one doctor or, with a null
+     * doctorId, for everyone; the whole day when the times are null.
+     */
+    public int deleteOverlapping(Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        StringBuilder sql = new StringBuilder("DELETE FROM slots WHERE slot_date = :date");
+        MapSqlParameterSource params = new MapSqlParameterSource("date", Date.valueOf(date));
+        if (doctorId != null) {
+            sql.append(" AND doctor_id = :doctorId");
+            params.addValue("doctorId", doctorId);
+        }
+        if (startTime != null) {
+            sql.append(" AND start_time < :endTime AND end_time > :startTime");
+            params.addValue("startTime", startTime).addValue("endTime", endTime);
+        }
+        return jdbcTemplate.update(sql.toString(), params);
+    }
+
+    /**
+     * Reads the last generated date, holding a share lock on it until the
+     * transaction ends so the nightly extension cannot move it meanwhile.
+     */
+    public LocalDate findHorizonEnd() {
+        Date horizonEnd = jdbcTemplate.queryForObject("SELECT horizon_end FROM slot_calendar WHERE id = 1 FOR SHARE",
+                new MapSqlParameterSource(), Date.class);
+        return horizonEnd != null ? horizonEnd.toLocalDate() : null;
+    }
+
+    public LocalDate lockHorizonEnd() {
+        Date horizonEnd = jdbcTemplate.queryForObject("SELECT horizon_end FROM slot_calendar WHERE id = 1 FOR UPDATE",
+                new MapSqlParameterSource(), Date.class);
+        return horizonEnd != null ? horizonEnd.toLocalDate() : null;
+    }
+
+    public void updateHorizonEnd(LocalDate horizonEnd) {
+        jdbcTemplate.update("UPDATE slot_calendar SET horizon_end = :horizonEnd WHERE id = 1",
+                new MapSqlParameterSource("horizonEnd", Date.valueOf(horizonEnd)));
+    }
+
+    private static MapSqlParameterSource range(LocalDate from, LocalDate to) {
+        return new MapSqlParameterSource("from", Date.valueOf(from)).addValue("to", Date.valueOf(to));
+    }
+}
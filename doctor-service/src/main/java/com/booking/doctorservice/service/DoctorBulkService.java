@@ -0,0 +1,20 @@
+package com.booking.doctorservice.service;
+
+import com.booking.doctorservice.dto.BulkImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface DoctorBulkService {
+
+    // Bulk import: rows are parsed as they arrive and inserted in JDBC batches
+    BulkImportResult importDoctors(InputStream input, BulkFormat format) throws IOException;
+
+    BulkImportResult importSchedules(InputStream input, BulkFormat format) throws IOException;
+
+    // Bulk export: rows are written as they are read from a database cursor
+    void exportDoctors(OutputStream output, BulkFormat format) throws IOException;
+
+    void exportSchedules(OutputStream output, BulkFormat format) throws IOException;
+}
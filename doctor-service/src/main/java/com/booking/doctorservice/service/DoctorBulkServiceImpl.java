@@ -0,0 +1,365 @@
+package com.booking.doctorservice.service;
+
+import com.booking.doctorservice.dto.BulkImportResult;
+import com.booking.doctorservice.dto.DoctorImportRow;
+import com.booking.doctorservice.dto.DoctorSummary;
+import com.booking.doctorservice.dto.ScheduleImportRow;
+import com.booking.doctorservice.dto.ScheduleView;
+import com.booking.doctorservice.repository.DoctorBulkRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Service
+public class DoctorBulkServiceImpl implements DoctorBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(DoctorBulkServiceImpl.class);
+
+    private static final CsvSchema DOCTOR_COLUMNS = CsvSchema.builder()
+            .addColumn("id").addColumn("name").addColumn("specialization").addColumn("qualification")
+            .addColumn("experience").addColumn("bio").addColumn("profileImage")
+            .build().withHeader();
+
+    private static final CsvSchema SCHEDULE_COLUMNS = CsvSchema.builder()
+            .addColumn("id").addColumn("doctorId").addColumn("dayOfWeek").addColumn("startTime")
+            .addColumn("endTime").addColumn("slotDurationMinutes")
+            .build().withHeader();
+
+    private static final int MAX_COLUMN_LENGTH = 255;
+    private static final int MAX_BIO_LENGTH = 1000;
+
+    private final DoctorBulkRepository bulkRepository;
+    private final DoctorCacheEvictor cacheEvictor;
+    private final DoctorCatalogEventPublisher catalogEventPublisher;
+    private final SlotCalendarService slotCalendarService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    @Autowired
+    public DoctorBulkServiceImpl(DoctorBulkRepository bulkRepository, DoctorCacheEvictor cacheEvictor,
+                                 DoctorCatalogEventPublisher catalogEventPublisher, SlotCalendarService slotCalendarService,
+                                 PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                 @Value("${doctor-bulk.chunk-size:1000}") int chunkSize,
+                                 @Value("${doctor-bulk.max-reported-errors:1000}") int maxReportedErrors) {
+        this.bulkRepository = bulkRepository;
+        this.cacheEvictor = cacheEvictor;
+        this.catalogEventPublisher = catalogEventPublisher;
+        this.slotCalendarService = slotCalendarService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .findAndAddModules()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public BulkImportResult importDoctors(InputStream input, BulkFormat format) throws IOException {
+        return runImport(input, format, DoctorImportRow.class, new DoctorImport());
+    }
+
+    @Override
+    public BulkImportResult importSchedules(InputStream input, BulkFormat format) throws IOException {
+        return runImport(input, format, ScheduleImportRow.class, new ScheduleImport());
+    }
+
+    @Override
+    public void exportDoctors(OutputStream output, BulkFormat format) throws IOException {
+        export(output, format, DoctorSummary.class, DOCTOR_COLUMNS, bulkRepository::streamDoctors);
+    }
+
+    @Override
+    public void exportSchedules(OutputStream output, BulkFormat format) throws IOException {
+        export(output, format, ScheduleView.class, SCHEDULE_COLUMNS, bulkRepository::streamSchedules);
+    }
+
+    private static String validateDoctor(DoctorImportRow row) {
+        if (isBlank(row.getName()) || isBlank(row.getSpecialization())) {
+            return "name and specialization are required";
+        }
+        if (tooLong(row.getName()) || tooLong(row.getSpecialization()) || tooLong(row.getQualification())
+                || tooLong(row.getExperience()) || tooLong(row.getProfileImage())) {
+            return "values must be at most " + MAX_COLUMN_LENGTH + " characters";
+        }
+        if (row.getBio() != null && row.getBio().length() > MAX_BIO_LENGTH) {
+            return "bio must be at most " + MAX_BIO_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static String validateSchedule(ScheduleImportRow row) {
+        if (row.getDoctorId() == null || row.getDayOfWeek() == null
+                || row.getStartTime() == null || row.getEndTime() == null) {
+            return "doctorId, dayOfWeek, startTime and endTime are required";
+        }
+        if (!row.getStartTime().isBefore(row.getEndTime())) {
+            return "startTime must be before endTime";
+        }
+        if (row.getSlotDurationMinutes() == null) {
+            row.setSlotDurationMinutes(30);
+        } else if (row.getSlotDurationMinutes() <= 0) {
+            return "slotDurationMinutes must be positive";
+        }
+        return null;
+    }
+
+    private <T> BulkImportResult runImport(InputStream input, BulkFormat format, Class<T> type,
+                                           ChunkedImport<T> chunkedImport) throws IOException {
+        if (format == BulkFormat.CSV) {
+            readCsv(input, type, chunkedImport);
+        } else {
+            readNdjson(input, type, chunkedImport);
+        }
+        chunkedImport.flush();
+
+        if (chunkedImport.imported > 0) {
+            catalogEventPublisher.catalogImported();
+        }
+        chunkedImport.errors.sort(Comparator.comparingLong(BulkImportResult.RowError::getRow));
+        log.info("Bulk import of {}: {} rows received, {} imported, {} failed", type.getSimpleName(),
+                chunkedImport.received, chunkedImport.imported, chunkedImport.failed);
+        return new BulkImportResult(chunkedImport.received, chunkedImport.imported, chunkedImport.failed,
+                chunkedImport.errors);
+    }
+
+    private <T> void readCsv(InputStream input, Class<T> type, ChunkedImport<T> chunkedImport) throws IOException {
+        try (MappingIterator<T> rows = csvMapper.readerFor(type)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(input)) {
+            long number = 0;
+            while (true) {
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    number++;
+                    chunkedImport.accept(number, rows.nextValue());
+                } catch (DatabindException e) {
+                    // The iterator skips to the next record
+                    chunkedImport.reject(number, e.getOriginalMessage());
+                } catch (StreamReadException e) {
+                    // Malformed CSV (e.g. an unterminated quote) cannot be resynchronized
+                    chunkedImport.reject(number + 1, "Unreadable input, import stopped: " + e.getOriginalMessage());
+                    break;
+                }
+            }
+        }
+    }
+
+    private <T> void readNdjson(InputStream input, Class<T> type, ChunkedImport<T> chunkedImport) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long number = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            number++;
+            try {
+                chunkedImport.accept(number, objectMapper.readValue(line, type));
+            } catch (JsonProcessingException e) {
+                chunkedImport.reject(number, e.getOriginalMessage());
+            }
+        }
+    }
+
+    private <T> void export(OutputStream output, BulkFormat format, Class<T> type, CsvSchema columns,
+                            Consumer<Consumer<T>> source) throws IOException {
+        ObjectWriter writer = format == BulkFormat.CSV
+                ? csvMapper.writerFor(type).with(columns)
+                : objectMapper.writerFor(type).withRootValueSeparator("\n");
+        try (SequenceWriter sequence = writer.writeValues(output)) {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> source.accept(value -> {
+                try {
+                    sequence.write(value);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> List<T> values(List<Row<T>> rows) {
+        List<T> values = new ArrayList<>(rows.size());
+        for (Row<T> row : rows) {
+            values.add(row.value());
+        }
+        return values;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_COLUMN_LENGTH;
+    }
+
+    private record Row<T>(long number, T value) {
+    }
+
+    /**
+     * Collects valid rows into chunks, each inserted and committed in its own
+     * transaction. A chunk the database rejects is reported row by row and
+     * the import carries on with the next one.
+     */
+    private abstract class ChunkedImport<T> {
+
+        private final List<Row<T>> chunk = new ArrayList<>();
+        private final List<BulkImportResult.RowError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+
+        abstract String validate(T value);
+
+        // Runs outside the chunk transaction and returns the rows to insert
+        List<Row<T>> prepare(List<Row<T>> rows) {
+            return rows;
+        }
+
+        abstract void insert(List<T> values);
+
+        void accept(long number, T value) {
+            received++;
+            String error = validate(value);
+            if (error != null) {
+                fail(number, error);
+                return;
+            }
+            chunk.add(new Row<>(number, value));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long number, String message) {
+            received++;
+            fail(number, message);
+        }
+
+        void fail(long number, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BulkImportResult.RowError(number, message));
+            }
+        }
+
+        void flush() {
+            List<Row<T>> rows = prepare(List.copyOf(chunk));
+            chunk.clear();
+            if (rows.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    cacheEvictor.evictAllAfterCommit();
+                    insert(values(rows));
+                });
+                imported += rows.size();
+            } catch (DataAccessException e) {
+                String cause = e.getMostSpecificCause().getMessage();
+                log.warn("Bulk import chunk of {} rows failed: {}", rows.size(), cause);
+                for (Row<T> row : rows) {
+                    fail(row.number(), "Insert failed: " + cause);
+                }
+            }
+        }
+    }
+
+    private final class DoctorImport extends ChunkedImport<DoctorImportRow> {
+
+        @Override
+        String validate(DoctorImportRow value) {
+            return validateDoctor(value);
+        }
+
+        @Override
+        void insert(List<DoctorImportRow> values) {
+            bulkRepository.insertDoctors(bulkRepository.allocateDoctorIds(values.size()), values);
+        }
+    }
+
+    private final class ScheduleImport extends ChunkedImport<ScheduleImportRow> {
+
+        private final Set<Long> knownDoctorIds = new HashSet<>();
+
+        @Override
+        String validate(ScheduleImportRow value) {
+            return validateSchedule(value);
+        }
+
+        // A doctor deleted after this check fails the chunk on its foreign key
+        @Override
+        List<Row<ScheduleImportRow>> prepare(List<Row<ScheduleImportRow>> rows) {
+            Set<Long> unknown = new HashSet<>();
+            for (Row<ScheduleImportRow> row : rows) {
+                if (!knownDoctorIds.contains(row.value().getDoctorId())) {
+                    unknown.add(row.value().getDoctorId());
+                }
+            }
+            knownDoctorIds.addAll(bulkRepository.findExistingDoctorIds(unknown));
+
+            List<Row<ScheduleImportRow>> accepted = new ArrayList<>(rows.size());
+            for (Row<ScheduleImportRow> row : rows) {
+                if (knownDoctorIds.contains(row.value().getDoctorId())) {
+                    accepted.add(row);
+                } else {
+                    fail(row.number(), "Doctor " + row.value().getDoctorId() + " does not exist");
+                }
+            }
+            return accepted;
+        }
+
+        @Override
+        void insert(List<ScheduleImportRow> values) {
+            List<Long> ids = bulkRepository.allocateScheduleIds(values.size());
+            bulkRepository.insertSchedules(ids, values);
+            slotCalendarService.schedulesAdded(ids);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.booking.doctorservice.service;
+
+import com.booking.doctorservice.model.Doctor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Explicitly evicts second-level cache entries touched by catalog writes.
+ *
+ * Hibernate keeps entity regions and cached queries in step with writes that
+ * go through the session, but not the inverse side of a relationship: saving
+ * a {@code Schedule} leaves the cached {@code Doctor.schedules} collection
+ * stale. Eviction happens after commit so a concurrent reader cannot cache
+ * the pre-commit state again.
+ */
+@Component
+public class DoctorCacheEvictor {
+
+    private final Cache cache;
+
+    @Autowired
+    public DoctorCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    public void evictAfterCommit(Long doctorId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(doctorId);
+                }
+            });
+        } else {
+            evict(doctorId);
+        }
+    }
+
+    /**
+     * Evicts all cached schedule collections and queries, for bulk inserts
+     * that bypass the session. Existing entities are not modified by them.
+     */
+    public void evictAllAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAll();
+                }
+            });
+        } else {
+            evictAll();
+        }
+    }
+
+    private void evictAll() {
+        cache.evictCollectionData(Doctor.SCHEDULES_ROLE);
+        cache.evictDefaultQueryRegion();
+    }
+
+    private void evict(Long doctorId) {
+        if (doctorId != null) {
+            cache.evictEntityData(Doctor.class, doctorId);
+            cache.evictCollectionData(Doctor.SCHEDULES_ROLE, doctorId);
+        }
+        cache.evictDefaultQueryRegion();
+    }
+}
@@ -0,0 +1,64 @@
+package com.booking.doctorservice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Announces doctor and schedule changes so that readers caching the catalog
+ * (the api-gateway response cache) can drop stale entries.
+ *
+ * Events are sent after the change commits and on a best-effort basis: a
+ * lost event only means a cached copy lives until its TTL runs out.
+ */
+@Component
+public class DoctorCatalogEventPublisher {
+
+    public static final String DOCTOR_CATALOG_CHANGED_TOPIC = "doctor-catalog-changed";
+
+    private static final Logger log = LoggerFactory.getLogger(DoctorCatalogEventPublisher.class);
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    public DoctorCatalogEventPublisher(KafkaTemplate<String, String> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    public void doctorChanged(Long doctorId) {
+        publishAfterCommit(doctorId, "DOCTOR");
+    }
+
+    public void scheduleChanged(Long doctorId) {
+        publishAfterCommit(doctorId, "SCHEDULE");
+    }
+
+    public void catalogImported() {
+        publishAfterCommit(null, "IMPORT");
+    }
+
+    private void publishAfterCommit(Long doctorId, String change) {
+        String key = String.valueOf(doctorId);
+        String payload = "{\"doctorId\":" + (doctorId != null ? doctorId : "null") + ",\"change\":\"" + change + "\"}";
+        Runnable send = () -> kafkaTemplate.send(DOCTOR_CATALOG_CHANGED_TOPIC, key, payload)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.warn("Could not publish catalog change for doctor {}: {}", doctorId, e.getMessage());
+                    }
+                });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send.run();
+                }
+            });
+        } else {
+            send.run();
+        }
+    }
+}
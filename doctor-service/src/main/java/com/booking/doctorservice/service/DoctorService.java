@@ -1,5 +1,9 @@
 package com.booking.doctorservice.service;
 
+import com.booking.doctorservice.dto.DoctorDetail;
+import com.booking.doctorservice.dto.DoctorSearchPage;
+import com.booking.doctorservice.dto.DoctorSummary;
+import com.booking.doctorservice.dto.ScheduleView;
 import com.booking.doctorservice.model.Doctor;
 import com.booking.doctorservice.model.Schedule;
 
@@ -10,25 +14,25 @@ import java.util.Optional;
 public interface DoctorService {
     
     // Doctor CRUD operations
-    List<Doctor> getAllDoctors();
+    List<DoctorSummary> getAllDoctors();
     
-    Optional<Doctor> getDoctorById(Long id);
+    Optional<DoctorDetail> getDoctorById(Long id);
     
     Doctor saveDoctor(Doctor doctor);
     
     void deleteDoctor(Long id);
     
     // Specialized doctor search operations
-    List<Doctor> getDoctorsBySpecialization(String specialization);
+    List<DoctorSummary> getDoctorsBySpecialization(String specialization);
     
-    List<Doctor> searchDoctorsByName(String name);
+    DoctorSearchPage searchDoctors(String query, int page, int size);
     
     List<String> getAllSpecializations();
     
     // Schedule management
-    List<Schedule> getDoctorSchedules(Long doctorId);
+    List<ScheduleView> getDoctorSchedules(Long doctorId);
     
-    List<Schedule> getDoctorSchedulesByDay(Long doctorId, DayOfWeek dayOfWeek);
+    List<ScheduleView> getDoctorSchedulesByDay(Long doctorId, DayOfWeek dayOfWeek);
     
     Schedule addScheduleToDoctor(Long doctorId, Schedule schedule);
     
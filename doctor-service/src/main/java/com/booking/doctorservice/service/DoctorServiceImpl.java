@@ -1,59 +1,125 @@
 package com.booking.doctorservice.service;
 
+import com.booking.doctorservice.dto.DoctorDetail;
+import com.booking.doctorservice.dto.DoctorSearchPage;
+import com.booking.doctorservice.dto.DoctorSummary;
+import com.booking.doctorservice.dto.ScheduleView;
 import com.booking.doctorservice.model.Doctor;
 import com.booking.doctorservice.model.Schedule;
 import com.booking.doctorservice.repository.DoctorRepository;
+import com.booking.doctorservice.repository.DoctorSearchRepository;
 import com.booking.doctorservice.repository.ScheduleRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 public class DoctorServiceImpl implements DoctorService {
 
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_SEARCH_TERMS = 8;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final DoctorRepository doctorRepository;
     private final ScheduleRepository scheduleRepository;
+    private final DoctorCatalogEventPublisher catalogEventPublisher;
+    private final DoctorCacheEvictor cacheEvictor;
+    private final DoctorSearchRepository searchRepository;
+    private final SlotCalendarService slotCalendarService;
+    private final double searchSimilarityThreshold;
 
     @Autowired
-    public DoctorServiceImpl(DoctorRepository doctorRepository, ScheduleRepository scheduleRepository) {
+    public DoctorServiceImpl(DoctorRepository doctorRepository, ScheduleRepository scheduleRepository,
+                             DoctorCatalogEventPublisher catalogEventPublisher, DoctorCacheEvictor cacheEvictor,
+                             DoctorSearchRepository searchRepository, SlotCalendarService slotCalendarService,
+                             @Value("${doctor-search.similarity-threshold:0.4}") double searchSimilarityThreshold) {
         this.doctorRepository = doctorRepository;
         this.scheduleRepository = scheduleRepository;
+        this.catalogEventPublisher = catalogEventPublisher;
+        this.cacheEvictor = cacheEvictor;
+        this.searchRepository = searchRepository;
+        this.slotCalendarService = slotCalendarService;
+        this.searchSimilarityThreshold = searchSimilarityThreshold;
     }
 
     @Override
-    public List<Doctor> getAllDoctors() {
-        return doctorRepository.findAll();
+    public List<DoctorSummary> getAllDoctors() {
+        return doctorRepository.findAllSummaries();
     }
 
+    // Doctor and schedules each come from the second-level cache, or one query apiece on a miss
     @Override
-    public Optional<Doctor> getDoctorById(Long id) {
-        return doctorRepository.findById(id);
+    @Transactional(readOnly = true)
+    public Optional<DoctorDetail> getDoctorById(Long id) {
+        return doctorRepository.findById(id).map(doctor -> {
+            Hibernate.initialize(doctor.getSchedules());
+            return DoctorDetail.from(doctor);
+        });
     }
 
     @Override
     @Transactional
     public Doctor saveDoctor(Doctor doctor) {
-        return doctorRepository.save(doctor);
+        Set<ScheduleKey> before = doctor.getId() == null ? Set.of()
+                : scheduleKeys(scheduleRepository.findByDoctorId(doctor.getId()));
+        Doctor saved = doctorRepository.save(doctor);
+        // Profile-only edits leave the slot calendar alone
+        if (!before.equals(scheduleKeys(saved.getSchedules()))) {
+            // Flushed so slot generation sees schedules cascaded from the doctor
+            doctorRepository.flush();
+            slotCalendarService.doctorSchedulesChanged(saved.getId());
+        }
+        cacheEvictor.evictAfterCommit(saved.getId());
+        catalogEventPublisher.doctorChanged(saved.getId());
+        return saved;
     }
 
     @Override
     @Transactional
     public void deleteDoctor(Long id) {
         doctorRepository.deleteById(id);
+        cacheEvictor.evictAfterCommit(id);
+        catalogEventPublisher.doctorChanged(id);
     }
 
     @Override
-    public List<Doctor> getDoctorsBySpecialization(String specialization) {
-        return doctorRepository.findBySpecialization(specialization);
+    public List<DoctorSummary> getDoctorsBySpecialization(String specialization) {
+        return doctorRepository.findSummariesBySpecialization(specialization);
     }
 
+    // Every term matches as a prefix ("cardi" finds "Cardiology"); near misses are caught by trigram similarity
     @Override
-    public List<Doctor> searchDoctorsByName(String name) {
-        return doctorRepository.findByNameContainingIgnoreCase(name);
+    @Transactional(readOnly = true)
+    public DoctorSearchPage searchDoctors(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        List<String> terms = query == null ? List.of() : Arrays.stream(NON_WORD.split(query.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .toList();
+        if (terms.isEmpty()) {
+            return new DoctorSearchPage(List.of(), pageNumber, pageSize, false);
+        }
+
+        String tsquery = terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+        searchRepository.setSimilarityThreshold(searchSimilarityThreshold);
+        List<DoctorSummary> results = searchRepository.search(tsquery, String.join(" ", terms),
+                pageSize + 1, (long) pageNumber * pageSize);
+        boolean hasMore = results.size() > pageSize;
+        return new DoctorSearchPage(hasMore ? results.subList(0, pageSize) : results, pageNumber, pageSize, hasMore);
     }
 
     @Override
@@ -62,13 +128,17 @@ public class DoctorServiceImpl implements DoctorService {
     }
 
     @Override
-    public List<Schedule> getDoctorSchedules(Long doctorId) {
-        return scheduleRepository.findByDoctorId(doctorId);
+    public List<ScheduleView> getDoctorSchedules(Long doctorId) {
+        return scheduleRepository.findByDoctorId(doctorId).stream()
+                .map(ScheduleView::from)
+                .toList();
     }
 
     @Override
-    public List<Schedule> getDoctorSchedulesByDay(Long doctorId, DayOfWeek dayOfWeek) {
-        return scheduleRepository.findByDoctorIdAndDayOfWeekOrderByStartTime(doctorId, dayOfWeek);
+    public List<ScheduleView> getDoctorSchedulesByDay(Long doctorId, DayOfWeek dayOfWeek) {
+        return scheduleRepository.findByDoctorIdAndDayOfWeekOrderByStartTime(doctorId, dayOfWeek).stream()
+                .map(ScheduleView::from)
+                .toList();
     }
 
     @Override
@@ -76,18 +146,38 @@ public class DoctorServiceImpl implements DoctorService {
     public Schedule addScheduleToDoctor(Long doctorId, Schedule schedule) {
         return doctorRepository.findById(doctorId).map(doctor -> {
             schedule.setDoctor(doctor);
-            return scheduleRepository.save(schedule);
+            Schedule saved = scheduleRepository.saveAndFlush(schedule);
+            slotCalendarService.schedulesAdded(List.of(saved.getId()));
+            cacheEvictor.evictAfterCommit(doctorId);
+            catalogEventPublisher.scheduleChanged(doctorId);
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Doctor not found with id: " + doctorId));
     }
 
     @Override
     @Transactional
     public void removeSchedule(Long scheduleId) {
-        scheduleRepository.deleteById(scheduleId);
+        scheduleRepository.findById(scheduleId).ifPresent(schedule -> {
+            scheduleRepository.delete(schedule);
+            cacheEvictor.evictAfterCommit(schedule.getDoctor().getId());
+            catalogEventPublisher.scheduleChanged(schedule.getDoctor().getId());
+        });
     }
 
     @Override
     public List<DayOfWeek> getAvailableDaysForDoctor(Long doctorId) {
         return scheduleRepository.findAvailableDaysByDoctorId(doctorId);
     }
+
+    private static Set<ScheduleKey> scheduleKeys(Collection<Schedule> schedules) {
+        return schedules.stream()
+                .map(schedule -> new ScheduleKey(schedule.getId(), schedule.getDayOfWeek(), schedule.getStartTime(),
+                        schedule.getEndTime(), schedule.getSlotDurationMinutes()))
+                .collect(Collectors.toSet());
+    }
+
+    // Slots reference their schedule row, so a replaced row counts as a change even with the same hours
+    private record ScheduleKey(Long id, DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime,
+                               Integer slotDurationMinutes) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.booking.doctorservice.service;
+
+import com.booking.doctorservice.dto.SlotView;
+import com.booking.doctorservice.model.ScheduleException;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface SlotCalendarService {
+
+    // Slot lookups, served from the materialized calendar up to its horizon
+    List<SlotView> getSlots(Long doctorId, LocalDate from, LocalDate to);
+
+    // Incremental maintenance, run inside the transaction that changed the schedules
+    void schedulesAdded(Collection<Long> scheduleIds);
+
+    void doctorSchedulesChanged(Long doctorId);
+
+    void extendHorizon();
+
+    // Holidays and other exceptions
+    List<ScheduleException> getExceptions(Long doctorId);
+
+    ScheduleException addException(ScheduleException exception);
+
+    void removeException(Long exceptionId);
+}
@@ -0,0 +1,137 @@
+package com.booking.doctorservice.service;
+
+import com.booking.doctorservice.dto.SlotView;
+import com.booking.doctorservice.model.ScheduleException;
+import com.booking.doctorservice.repository.ScheduleExceptionRepository;
+import com.booking.doctorservice.repository.SlotCalendarRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the slots table in step with the weekly schedules for a rolling
+ * horizon. Schedule and exception changes regenerate only the rows they
+ * affect, in the same transaction; a nightly job (and startup) extends the
+ * horizon by the days that have come into range and drops past slots.
+ *
+ * Maintenance reads the horizon under a share lock and the extension takes
+ * it exclusively, so a schedule committed while the horizon moves is never
+ * left without slots for the new days.
+ */
+@Service
+public class SlotCalendarServiceImpl implements SlotCalendarService {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotCalendarServiceImpl.class);
+
+    private final SlotCalendarRepository slotCalendarRepository;
+    private final ScheduleExceptionRepository exceptionRepository;
+    private final int horizonDays;
+
+    @Autowired
+    public SlotCalendarServiceImpl(SlotCalendarRepository slotCalendarRepository,
+                                   ScheduleExceptionRepository exceptionRepository,
+                                   @Value("${slot-calendar.horizon-days:90}") int horizonDays) {
+        this.slotCalendarRepository = slotCalendarRepository;
+        this.exceptionRepository = exceptionRepository;
+        this.horizonDays = horizonDays;
+    }
+
+    @Override
+    public List<SlotView> getSlots(Long doctorId, LocalDate from, LocalDate to) {
+        return slotCalendarRepository.findSlots(doctorId, from, to);
+    }
+
+    @Override
+    @Transactional
+    public void schedulesAdded(Collection<Long> scheduleIds) {
+        LocalDate today = LocalDate.now();
+        LocalDate horizonEnd = slotCalendarRepository.findHorizonEnd();
+        if (horizonEnd != null && !horizonEnd.isBefore(today)) {
+            slotCalendarRepository.generateForSchedules(scheduleIds, today, horizonEnd);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void doctorSchedulesChanged(Long doctorId) {
+        LocalDate today = LocalDate.now();
+        LocalDate horizonEnd = slotCalendarRepository.findHorizonEnd();
+        slotCalendarRepository.deleteForDoctorFrom(doctorId, today);
+        if (horizonEnd != null && !horizonEnd.isBefore(today)) {
+            slotCalendarRepository.generateForDoctor(doctorId, today, horizonEnd);
+        }
+    }
+
+    @Override
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${slot-calendar.extend-cron:0 15 2 * * *}")
+    public void extendHorizon() {
+        LocalDate today = LocalDate.now();
+        LocalDate target = today.plusDays(horizonDays);
+        LocalDate horizonEnd = slotCalendarRepository.lockHorizonEnd();
+        LocalDate from = horizonEnd == null || horizonEnd.isBefore(today) ? today : horizonEnd.plusDays(1);
+
+        int generated = from.isAfter(target) ? 0 : slotCalendarRepository.generateAll(from, target);
+        int dropped = slotCalendarRepository.deleteBefore(today);
+        if (horizonEnd == null || horizonEnd.isBefore(target)) {
+            slotCalendarRepository.updateHorizonEnd(target);
+        }
+        log.info("Slot calendar extended to {}: {} slots generated, {} past slots dropped", target, generated, dropped);
+    }
+
+    @Override
+    public List<ScheduleException> getExceptions(Long doctorId) {
+        return exceptionRepository.findForDoctorFrom(doctorId, LocalDate.now());
+    }
+
+    @Override
+    @Transactional
+    public ScheduleException addException(ScheduleException exception) {
+        if (exception.getDate() == null) {
+            throw new SlotCalendarValidationException("date is required");
+        }
+        if ((exception.getStartTime() == null) != (exception.getEndTime() == null)
+                || (exception.getStartTime() != null && !exception.getStartTime().isBefore(exception.getEndTime()))) {
+            throw new SlotCalendarValidationException("startTime and endTime must both be set, with startTime first, or both be empty");
+        }
+        // Share lock: an extension running now either commits first, so its rows are deleted below,
+        // or waits for this commit and skips the date when it generates
+        slotCalendarRepository.findHorizonEnd();
+        ScheduleException saved = exceptionRepository.save(exception);
+        slotCalendarRepository.deleteOverlapping(saved.getDoctorId(), saved.getDate(),
+                saved.getStartTime(), saved.getEndTime());
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public void removeException(Long exceptionId) {
+        exceptionRepository.findById(exceptionId).ifPresent(exception -> {
+            exceptionRepository.delete(exception);
+            // Slot generation checks the exceptions table, so the delete must reach it first
+            exceptionRepository.flush();
+
+            LocalDate date = exception.getDate();
+            LocalDate horizonEnd = slotCalendarRepository.findHorizonEnd();
+            if (date.isBefore(LocalDate.now()) || horizonEnd == null || date.isAfter(horizonEnd)) {
+                return;
+            }
+            if (exception.getDoctorId() == null) {
+                slotCalendarRepository.generateAll(date, date);
+            } else {
+                slotCalendarRepository.generateForDoctor(exception.getDoctorId(), date, date);
+            }
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.booking.doctorservice.service;
+
+// A slot calendar request the client has to correct; answered with 400
+public class SlotCalendarValidationException extends RuntimeException {
+
+    public SlotCalendarValidationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+CREATE TABLE IF NOT EXISTS doctors (
+    id              BIGSERIAL PRIMARY KEY,
+    name            VARCHAR(255)  NOT NULL,
+    specialization  VARCHAR(255)  NOT NULL,
+    qualification   VARCHAR(255),
+    experience      VARCHAR(255),
+    bio             VARCHAR(1000),
+    profile_image   VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS schedules (
+    id                     BIGSERIAL PRIMARY KEY,
+    day_of_week            VARCHAR(255) NOT NULL,
+    start_time             TIME         NOT NULL,
+    end_time               TIME         NOT NULL,
+    slot_duration_minutes  INTEGER,
+    doctor_id              BIGINT REFERENCES doctors (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_schedules_doctor_day
+    ON schedules (doctor_id, day_of_week, start_time);
@@ -0,0 +1,23 @@
+-- Weighted full-text document: name > specialization > qualification > bio.
+-- The 'simple' configuration keeps names unstemmed and supports prefix matching.
+ALTER TABLE doctors ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple'::regconfig, coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(specialization, '')), 'B') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(qualification, '')), 'C') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(bio, '')), 'D')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_doctors_search_vector
+    ON doctors USING gin (search_vector);
+
+-- Typo-tolerant matching on the short fields via trigram word similarity
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE doctors ADD COLUMN IF NOT EXISTS search_text TEXT
+    GENERATED ALWAYS AS (
+        lower(coalesce(name, '') || ' ' || coalesce(specialization, '') || ' ' || coalesce(qualification, ''))
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_doctors_search_text_trgm
+    ON doctors USING gin (search_text gin_trgm_ops);
@@ -0,0 +1,17 @@
+-- Ids come from sequences handed out in blocks of 50 (Hibernate pooled-lo), so
+-- inserts can be batched instead of waiting for an IDENTITY round trip each.
+-- Each nextval reserves [value, value + 49], which keeps plain SQL inserts
+-- through the column default from colliding with blocks held by the service.
+CREATE SEQUENCE IF NOT EXISTS doctors_seq INCREMENT BY 50;
+SELECT setval('doctors_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM doctors), false);
+ALTER TABLE doctors ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE doctors ALTER COLUMN id SET DEFAULT nextval('doctors_seq');
+ALTER SEQUENCE doctors_seq OWNED BY doctors.id;
+DROP SEQUENCE IF EXISTS doctors_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS schedules_seq INCREMENT BY 50;
+SELECT setval('schedules_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM schedules), false);
+ALTER TABLE schedules ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE schedules ALTER COLUMN id SET DEFAULT nextval('schedules_seq');
+ALTER SEQUENCE schedules_seq OWNED BY schedules.id;
+DROP SEQUENCE IF EXISTS schedules_id_seq;
@@ -0,0 +1,40 @@
+-- Days or hours a doctor is unavailable despite the weekly schedule.
+-- A NULL doctor_id is a holiday for everyone; NULL times block the whole day.
+CREATE SEQUENCE IF NOT EXISTS schedule_exceptions_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS schedule_exceptions (
+    id              BIGINT PRIMARY KEY DEFAULT nextval('schedule_exceptions_seq'),
+    doctor_id       BIGINT REFERENCES doctors (id) ON DELETE CASCADE,
+    exception_date  DATE NOT NULL,
+    start_time      TIME,
+    end_time        TIME,
+    reason          VARCHAR(255),
+    CONSTRAINT ck_schedule_exceptions_times
+        CHECK ((start_time IS NULL AND end_time IS NULL) OR start_time < end_time)
+);
+
+ALTER SEQUENCE schedule_exceptions_seq OWNED BY schedule_exceptions.id;
+
+CREATE INDEX IF NOT EXISTS ix_schedule_exceptions_date_doctor
+    ON schedule_exceptions (exception_date, doctor_id);
+
+-- Weekly schedules expanded into concrete slots up to slot_calendar.horizon_end.
+-- Slots go away with their schedule; exceptions are applied when slots are generated.
+CREATE TABLE IF NOT EXISTS slots (
+    schedule_id  BIGINT NOT NULL REFERENCES schedules (id) ON DELETE CASCADE,
+    doctor_id    BIGINT NOT NULL,
+    slot_date    DATE   NOT NULL,
+    start_time   TIME   NOT NULL,
+    end_time     TIME   NOT NULL,
+    PRIMARY KEY (schedule_id, slot_date, start_time)
+);
+
+CREATE INDEX IF NOT EXISTS ix_slots_doctor_date
+    ON slots (doctor_id, slot_date, start_time) INCLUDE (end_time);
+
+CREATE TABLE IF NOT EXISTS slot_calendar (
+    id           INTEGER PRIMARY KEY CHECK (id = 1),
+    horizon_end  DATE
+);
+
+INSERT INTO slot_calendar (id, horizon_end) VALUES (1, NULL) ON CONFLICT DO NOTHING;
@@ -1,10 +1,8 @@
 package com.booking.doctorservice;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class DoctorServiceApplicationTests {
+class DoctorServiceApplicationTests extends EmbeddedPostgresTest {
 
     @Test
     void contextLoads() {
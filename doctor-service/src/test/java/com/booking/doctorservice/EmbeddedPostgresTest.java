@@ -0,0 +1,55 @@
+package com.booking.doctorservice;
+
+import com.booking.doctorservice.service.DoctorCatalogEventPublisher;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.IOException;
+
+/**
+ * Base for tests that need the full application against a real database.
+ * One embedded Postgres is started per test JVM and every subclass shares
+ * the same configuration, so Spring reuses a single application context.
+ */
+// A short slot horizon keeps slot generation for the large imports small
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "slot-calendar.horizon-days=21"
+})
+@AutoConfigureMockMvc
+public abstract class EmbeddedPostgresTest {
+
+    private static final EmbeddedPostgres postgres = start();
+
+    @MockitoBean
+    protected DoctorCatalogEventPublisher catalogEventPublisher;
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres started = EmbeddedPostgres.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException e) {
+                    // The JVM is exiting; the data directory is temporary
+                }
+            }));
+            return started;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+                () -> postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+}
@@ -0,0 +1,97 @@
+package com.booking.doctorservice.controller;
+
+import com.booking.doctorservice.EmbeddedPostgresTest;
+import com.booking.doctorservice.model.Doctor;
+import com.booking.doctorservice.model.Schedule;
+import com.booking.doctorservice.repository.DoctorRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the number of SQL statements the catalog endpoints issue with cold
+ * caches: it must not grow with the number of doctors.
+ */
+class DoctorControllerQueryCountTests extends EmbeddedPostgresTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // The database is shared with the other test classes, which may have left large catalogs behind
+    @BeforeEach
+    void resetDatabase() {
+        jdbcTemplate.execute("TRUNCATE doctors, schedules CASCADE");
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void catalogIsOneQueryRegardlessOfDoctorCount() throws Exception {
+        insertDoctors(5);
+        long fewDoctors = statementsFor("/api/doctors", 5);
+
+        insertDoctors(45);
+        long manyDoctors = statementsFor("/api/doctors", 50);
+
+        assertEquals(1, fewDoctors);
+        assertEquals(fewDoctors, manyDoctors);
+    }
+
+    @Test
+    void detailLoadsDoctorAndSchedulesInConstantQueries() throws Exception {
+        Long id = insertDoctors(1);
+
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictAllRegions();
+        statistics.clear();
+        mockMvc.perform(get("/api/doctors/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.schedules.length()").value(3));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private long statementsFor(String path, int expectedDoctors) throws Exception {
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictAllRegions();
+        statistics.clear();
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expectedDoctors));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long insertDoctors(int count) {
+        Long last = null;
+        for (int i = 0; i < count; i++) {
+            Doctor doctor = new Doctor("Dr. " + i, "Cardiology", "MD", "10", "bio");
+            for (DayOfWeek day : new DayOfWeek[]{DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY}) {
+                doctor.addSchedule(new Schedule(day, LocalTime.of(9, 0), LocalTime.of(12, 0), 30));
+            }
+            last = doctorRepository.save(doctor).getId();
+        }
+        return last;
+    }
+}
@@ -0,0 +1,45 @@
+package com.booking.doctorservice.controller;
+
+import com.booking.doctorservice.EmbeddedPostgresTest;
+import com.booking.doctorservice.model.Doctor;
+import com.booking.doctorservice.service.DoctorService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The paged search response and the array kept for clients of ?name=.
+ */
+class DoctorControllerSearchTests extends EmbeddedPostgresTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Test
+    void queryReturnsAPage() throws Exception {
+        doctorService.saveDoctor(new Doctor("Dr. Quinton Searle", "Cardiology", "MD", "10", "bio"));
+
+        mockMvc.perform(get("/api/doctors/search").param("q", "quinton"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Dr. Quinton Searle"))
+                .andExpect(jsonPath("$.page").value(0))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void nameReturnsAnArray() throws Exception {
+        doctorService.saveDoctor(new Doctor("Dr. Ottoline Marsh", "Neurology", "MD", "10", "bio"));
+
+        mockMvc.perform(get("/api/doctors/search").param("name", "ottoline"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$[0].name").value("Dr. Ottoline Marsh"));
+    }
+}
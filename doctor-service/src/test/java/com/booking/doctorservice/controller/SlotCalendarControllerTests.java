@@ -0,0 +1,38 @@
+package com.booking.doctorservice.controller;
+
+import com.booking.doctorservice.EmbeddedPostgresTest;
+import com.booking.doctorservice.model.Doctor;
+import com.booking.doctorservice.service.DoctorService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SlotCalendarControllerTests extends EmbeddedPostgresTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Test
+    void invalidExceptionsAreRejectedWithTheReason() throws Exception {
+        Long doctorId = doctorService.saveDoctor(new Doctor("Dr. Away", "Cardiology", "MD", "10", "bio")).getId();
+
+        mockMvc.perform(post("/api/doctors/{doctorId}/exceptions", doctorId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reason\":\"Conference\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("date is required"));
+
+        mockMvc.perform(post("/api/doctors/{doctorId}/exceptions", doctorId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"date\":\"2030-01-07\",\"startTime\":\"11:00\",\"endTime\":\"10:00\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,96 @@
+package com.booking.doctorservice.repository;
+
+import com.booking.doctorservice.dto.DoctorSummary;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the search migration against an embedded Postgres with 100k doctors,
+ * checks matching and ranking, and that both predicates use their GIN index.
+ */
+class DoctorSearchRepositoryTests {
+
+    private static EmbeddedPostgres postgres;
+    private static DoctorSearchRepository repository;
+    private static TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("INSERT INTO doctors (name, specialization, qualification, bio) " +
+                "SELECT 'Doctor ' || g, (ARRAY['Dermatology', 'Neurology', 'Pediatrics', 'Orthopedics'])[g % 4 + 1], " +
+                "'MBBS', 'General practice number ' || g FROM generate_series(1, 100000) g");
+        jdbcTemplate.update("INSERT INTO doctors (name, specialization, qualification, bio) VALUES " +
+                "('Anna Whitfield', 'Cardiology', 'MD', 'Heart rhythm specialist'), " +
+                "('Cardiff Jones', 'Dermatology', 'MBBS', 'Skin care'), " +
+                "('Maria Lopez', 'Pediatrics', 'MD', 'Cares for children with cardiology conditions')");
+        // Flushes the GIN pending lists filled by the bulk insert, as autovacuum would
+        jdbcTemplate.execute("VACUUM ANALYZE doctors");
+
+        repository = new DoctorSearchRepository(new NamedParameterJdbcTemplate(dataSource));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    private List<DoctorSummary> search(String tsquery, String text) {
+        return transactionTemplate.execute(status -> {
+            repository.setSimilarityThreshold(0.4);
+            return repository.search(tsquery, text, 10, 0);
+        });
+    }
+
+    @Test
+    void prefixMatchesRankNameAndSpecializationAboveBio() {
+        List<DoctorSummary> results = search("cardi:*", "cardi");
+
+        assertEquals(3, results.size());
+        assertEquals("Cardiff Jones", results.get(0).getName());
+        assertEquals("Maria Lopez", results.get(results.size() - 1).getName());
+    }
+
+    @Test
+    void toleratesTypos() {
+        List<DoctorSummary> results = search("whitfeld:*", "whitfeld");
+
+        assertFalse(results.isEmpty());
+        assertEquals("Anna Whitfield", results.get(0).getName());
+    }
+
+    @Test
+    void bothPredicatesUseTheirGinIndexes() {
+        List<String> lines = transactionTemplate.execute(status -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+            return jdbcTemplate.queryForList("EXPLAIN " + DoctorSearchRepository.SEARCH_SQL
+                    .replace(":tsquery", "'cardi:*'")
+                    .replace(":text", "'cardi'")
+                    .replace(":limit", "21")
+                    .replace(":offset", "0"), String.class);
+        });
+        String plan = String.join("\n", lines);
+
+        assertTrue(plan.contains("ix_doctors_search_vector"), plan);
+        assertTrue(plan.contains("ix_doctors_search_text_trgm"), plan);
+    }
+}
@@ -0,0 +1,106 @@
+package com.booking.doctorservice.service;
+
+import com.booking.doctorservice.EmbeddedPostgresTest;
+import com.booking.doctorservice.dto.BulkImportResult;
+import com.booking.doctorservice.model.Doctor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bulk import against an embedded Postgres: row errors, cache visibility,
+ * sequence ids shared with Hibernate, and export of a 100k row import.
+ */
+class DoctorBulkServiceTests extends EmbeddedPostgresTest {
+
+    @Autowired
+    private DoctorBulkService doctorBulkService;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Test
+    void invalidRowsAreReportedAndValidRowsImported() throws IOException {
+        Doctor doctor = doctorService.saveDoctor(new Doctor("Dr. Bulk", "Cardiology", "MD", "10", "bio"));
+        assertEquals(0, doctorService.getDoctorById(doctor.getId()).orElseThrow().getSchedules().size());
+
+        String csv = """
+                doctorId,dayOfWeek,startTime,endTime,slotDurationMinutes
+                %1$d,MONDAY,09:00,12:00,30
+                %1$d,TUESDAY,14:00,13:00,30
+                999999,WEDNESDAY,09:00,12:00,
+                %1$d,FUNDAY,09:00,12:00,30
+                %1$d,FRIDAY,08:00,10:00,
+                """.formatted(doctor.getId());
+        BulkImportResult result = doctorBulkService.importSchedules(input(csv), BulkFormat.CSV);
+
+        assertEquals(5, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(2L, 3L, 4L), result.getErrors().stream().map(BulkImportResult.RowError::getRow).toList());
+        // The cached schedules collection was evicted by the import
+        assertEquals(2, doctorService.getDoctorById(doctor.getId()).orElseThrow().getSchedules().size());
+    }
+
+    @Test
+    void bulkAndHibernateIdsDoNotCollide() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            ndjson.append("{\"name\":\"Dr. Imported ").append(i).append("\",\"specialization\":\"Neuroradiology\"}\n");
+        }
+        ndjson.append("{\"name\":\"Dr. Broken\"\n");
+        ndjson.append("{\"specialization\":\"Neuroradiology\"}\n");
+
+        BulkImportResult result = doctorBulkService.importDoctors(input(ndjson.toString()), BulkFormat.NDJSON);
+        assertEquals(120, result.getImported());
+        assertEquals(2, result.getFailed());
+
+        // A colliding id would fail these inserts on the primary key
+        for (int i = 0; i < 120; i++) {
+            doctorService.saveDoctor(new Doctor("Dr. Saved " + i, "Neuroradiology", "MD", "1", "bio"));
+        }
+        assertEquals(240, doctorService.getDoctorsBySpecialization("Neuroradiology").size());
+    }
+
+    @Test
+    void largeImportIsExportedInFull() throws IOException {
+        Doctor doctor = doctorService.saveDoctor(new Doctor("Dr. Busy", "Orthopedics", "MD", "20", "bio"));
+        StringBuilder ndjson = new StringBuilder();
+        String[] days = {"MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"};
+        for (int i = 0; i < 100_000; i++) {
+            int minute = i % 1380;
+            ndjson.append("{\"doctorId\":").append(doctor.getId())
+                    .append(",\"dayOfWeek\":\"").append(days[i % days.length])
+                    .append("\",\"startTime\":\"").append(time(minute))
+                    .append("\",\"endTime\":\"").append(time(minute + 30))
+                    .append("\",\"slotDurationMinutes\":30}\n");
+        }
+
+        BulkImportResult result = doctorBulkService.importSchedules(input(ndjson.toString()), BulkFormat.NDJSON);
+        assertEquals(100_000, result.getImported());
+        assertTrue(result.getErrors().isEmpty());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        doctorBulkService.exportSchedules(output, BulkFormat.CSV);
+        long exported = output.toString(StandardCharsets.UTF_8).lines()
+                .filter(line -> line.contains("," + doctor.getId() + ","))
+                .count();
+        assertEquals(100_000, exported);
+    }
+
+    private static ByteArrayInputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String time(int minuteOfDay) {
+        return String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+    }
+}
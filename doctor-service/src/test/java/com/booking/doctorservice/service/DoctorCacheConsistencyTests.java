@@ -0,0 +1,94 @@
+package com.booking.doctorservice.service;
+
+import com.booking.doctorservice.EmbeddedPostgresTest;
+import com.booking.doctorservice.model.Doctor;
+import com.booking.doctorservice.model.Schedule;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads warm the second-level and query caches, then every write path must
+ * be visible to the next read.
+ */
+class DoctorCacheConsistencyTests extends EmbeddedPostgresTest {
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedReadsAreServedFromCache() {
+        Doctor doctor = doctorService.saveDoctor(new Doctor("Dr. Cache", "Cardiology", "MD", "10", "bio"));
+
+        doctorService.getDoctorById(doctor.getId());
+        doctorService.getAllDoctors();
+        statistics.clear();
+
+        doctorService.getDoctorById(doctor.getId());
+        doctorService.getAllDoctors();
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+    }
+
+    @Test
+    void doctorUpdatesAreVisibleAfterWarmReads() {
+        Doctor doctor = doctorService.saveDoctor(new Doctor("Dr. Before", "Dermatology", "MD", "5", "bio"));
+        doctorService.getDoctorById(doctor.getId());
+        doctorService.getDoctorsBySpecialization("Dermatology");
+        doctorService.getAllSpecializations();
+
+        doctor.setName("Dr. After");
+        doctor.setSpecialization("Neurology");
+        doctorService.saveDoctor(doctor);
+
+        assertEquals("Dr. After", doctorService.getDoctorById(doctor.getId()).orElseThrow().getName());
+        assertTrue(doctorService.getDoctorsBySpecialization("Dermatology").stream()
+                .noneMatch(d -> d.getId().equals(doctor.getId())));
+        assertTrue(doctorService.getAllSpecializations().contains("Neurology"));
+
+        doctorService.deleteDoctor(doctor.getId());
+        assertTrue(doctorService.getDoctorById(doctor.getId()).isEmpty());
+        assertTrue(doctorService.getAllDoctors().stream().noneMatch(d -> d.getId().equals(doctor.getId())));
+    }
+
+    @Test
+    void scheduleChangesAreVisibleThroughCachedDoctor() {
+        Doctor doctor = doctorService.saveDoctor(new Doctor("Dr. Schedule", "Pediatrics", "MD", "3", "bio"));
+        assertEquals(0, scheduleCount(doctor.getId()));
+        assertEquals(0, doctorService.getDoctorSchedules(doctor.getId()).size());
+
+        Schedule schedule = doctorService.addScheduleToDoctor(doctor.getId(),
+                new Schedule(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(12, 0), 30));
+        assertEquals(1, scheduleCount(doctor.getId()));
+        assertEquals(1, doctorService.getDoctorSchedules(doctor.getId()).size());
+
+        doctorService.removeSchedule(schedule.getId());
+        assertEquals(0, scheduleCount(doctor.getId()));
+        assertEquals(0, doctorService.getDoctorSchedules(doctor.getId()).size());
+    }
+
+    // Goes through the cached Doctor.schedules collection
+    private int scheduleCount(Long doctorId) {
+        return doctorService.getDoctorById(doctorId).orElseThrow().getSchedules().size();
+    }
+}
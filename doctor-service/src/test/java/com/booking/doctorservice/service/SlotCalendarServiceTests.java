@@ -0,0 +1,105 @@
+package com.booking.doctorservice.service;
+
+import com.booking.doctorservice.EmbeddedPostgresTest;
+import com.booking.doctorservice.dto.SlotView;
+import com.booking.doctorservice.model.Doctor;
+import com.booking.doctorservice.model.Schedule;
+import com.booking.doctorservice.model.ScheduleException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * The slot calendar follows schedule and exception changes incrementally,
+ * starting from the horizon generated at startup.
+ */
+class SlotCalendarServiceTests extends EmbeddedPostgresTest {
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private SlotCalendarService slotCalendarService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void scheduleChangesAreMaterialized() {
+        Doctor doctor = doctorService.saveDoctor(new Doctor("Dr. Calendar", "Cardiology", "MD", "10", "bio"));
+        LocalDate today = LocalDate.now();
+
+        Schedule schedule = doctorService.addScheduleToDoctor(doctor.getId(),
+                new Schedule(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(12, 0), 30));
+        // Two Mondays in any 14 days, six half-hour slots each
+        List<SlotView> slots = slotCalendarService.getSlots(doctor.getId(), today, today.plusDays(13));
+        assertEquals(12, slots.size());
+        assertEquals(LocalTime.of(9, 30), slots.get(0).getEndTime());
+
+        slotCalendarService.extendHorizon();
+        assertEquals(12, slotCalendarService.getSlots(doctor.getId(), today, today.plusDays(13)).size());
+
+        doctorService.removeSchedule(schedule.getId());
+        assertEquals(0, slotCalendarService.getSlots(doctor.getId(), today, today.plusDays(13)).size());
+    }
+
+    @Test
+    void exceptionsAndHolidaysBlockSlotsUntilRemoved() {
+        Doctor doctor = doctorService.saveDoctor(new Doctor("Dr. Holiday", "Dermatology", "MD", "4", "bio"));
+        doctorService.addScheduleToDoctor(doctor.getId(),
+                new Schedule(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(12, 0), 30));
+        LocalDate monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        assertEquals(6, slotsOn(doctor.getId(), monday));
+
+        ScheduleException meeting = slotCalendarService.addException(new ScheduleException(
+                doctor.getId(), monday, LocalTime.of(10, 0), LocalTime.of(11, 0), "Staff meeting"));
+        assertEquals(4, slotsOn(doctor.getId(), monday));
+
+        ScheduleException holiday = slotCalendarService.addException(
+                new ScheduleException(null, monday, null, null, "Public holiday"));
+        assertEquals(0, slotsOn(doctor.getId(), monday));
+        assertEquals(6, slotsOn(doctor.getId(), monday.plusWeeks(1)));
+
+        slotCalendarService.removeException(holiday.getId());
+        assertEquals(4, slotsOn(doctor.getId(), monday));
+
+        slotCalendarService.removeException(meeting.getId());
+        assertEquals(6, slotsOn(doctor.getId(), monday));
+    }
+
+    @Test
+    void onlyScheduleEditsRegenerateSlots() {
+        Doctor doctor = new Doctor("Dr. Profile", "Neurology", "MD", "8", "bio");
+        doctor.addSchedule(new Schedule(DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(12, 0), 30));
+        doctor = doctorService.saveDoctor(doctor);
+        List<String> generated = slotVersions(doctor.getId());
+        assertFalse(generated.isEmpty());
+
+        doctor.setBio("Updated bio");
+        doctor = doctorService.saveDoctor(doctor);
+        assertEquals(generated, slotVersions(doctor.getId()));
+
+        doctor.getSchedules().iterator().next().setEndTime(LocalTime.of(10, 0));
+        doctor = doctorService.saveDoctor(doctor);
+        assertEquals(generated.size() / 3, slotVersions(doctor.getId()).size());
+    }
+
+    // The inserting transaction of each slot row changes whenever the rows are regenerated
+    private List<String> slotVersions(Long doctorId) {
+        return jdbcTemplate.queryForList("SELECT xmin::text FROM slots WHERE doctor_id = ? ORDER BY slot_date, start_time",
+                String.class, doctorId);
+    }
+
+    private int slotsOn(Long doctorId, LocalDate date) {
+        return slotCalendarService.getSlots(doctorId, date, date).size();
+    }
+}
@@ -0,0 +1,67 @@
+package com.booking.notificationservice.benchmark;
+
+import com.booking.notificationservice.config.AppointmentEventDeserializer;
+import com.booking.notificationservice.model.AppointmentEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse cost per appointment event record: the typed reader against the
+ * previous path of a JsonDeserializer producing a Map whose fields are then
+ * cast one by one. Run with -prof gc to compare allocation per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppointmentEventParseBenchmark {
+
+    private static final byte[] PAYLOAD = """
+            {"appointmentId":1042,"patientId":311,"patientEmail":"patient@example.com","doctorId":17,\
+            "doctorName":"Smith","appointmentDate":"2025-03-03","appointmentTime":"09:00","status":"SCHEDULED"}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private AppointmentEventDeserializer typedDeserializer;
+    private JsonDeserializer<Object> mapDeserializer;
+
+    @Setup
+    public void setUp() {
+        typedDeserializer = new AppointmentEventDeserializer();
+        mapDeserializer = new JsonDeserializer<>();
+        mapDeserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "com.booking.*",
+                JsonDeserializer.USE_TYPE_INFO_HEADERS, false,
+                JsonDeserializer.VALUE_DEFAULT_TYPE, "java.util.Map"), false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mapDeserializer.close();
+    }
+
+    @Benchmark
+    public void typedReader(Blackhole blackhole) {
+        AppointmentEvent event = typedDeserializer.deserialize("appointment-created", PAYLOAD);
+        blackhole.consume(event.getPatientEmail());
+        blackhole.consume(event.getDoctorName());
+        blackhole.consume(event.getAppointmentDate());
+        blackhole.consume(event.getAppointmentTime());
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void mapWithCasts(Blackhole blackhole) {
+        Map<String, Object> appointmentData = (Map<String, Object>) mapDeserializer.deserialize("appointment-created", PAYLOAD);
+        blackhole.consume((String) appointmentData.get("patientEmail"));
+        blackhole.consume((String) appointmentData.get("doctorName"));
+        blackhole.consume((String) appointmentData.get("appointmentDate"));
+        blackhole.consume((String) appointmentData.get("appointmentTime"));
+    }
+}
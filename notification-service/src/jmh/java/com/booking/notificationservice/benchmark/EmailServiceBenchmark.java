@@ -0,0 +1,44 @@
+package com.booking.notificationservice.benchmark;
+
+import com.booking.notificationservice.service.EmailService;
+import com.booking.notificationservice.service.SmtpDeliveryEngine;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Template formatting and message assembly in EmailService, with SMTP
+ * delivery replaced by a no-op sender.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailServiceBenchmark {
+
+    private EmailService emailService;
+
+    @Setup
+    public void setUp() {
+        // No sender connections; messages are built and dropped
+        emailService = new EmailService(new SmtpDeliveryEngine(new JavaMailSenderImpl(), 0, 100, 30_000, 5, 1_000, 60_000) {
+            @Override
+            public void send(MimeMessage message) {
+            }
+        });
+    }
+
+    @Benchmark
+    public void appointmentConfirmation() {
+        emailService.sendAppointmentConfirmation("patient@example.com", "Smith", "2025-03-03", "09:00");
+    }
+
+    @Benchmark
+    public void appointmentCancellation() {
+        emailService.sendAppointmentCancellation("patient@example.com", "Smith", "2025-03-03", "09:00");
+    }
+}
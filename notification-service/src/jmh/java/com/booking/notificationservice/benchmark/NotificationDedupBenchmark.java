@@ -0,0 +1,46 @@
+package com.booking.notificationservice.benchmark;
+
+import com.booking.notificationservice.service.FingerprintSet;
+import com.booking.notificationservice.service.NotificationDeduplicator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The "already sent?" check on the delivery path: fingerprinting the
+ * (appointment, event, version) key and probing a set of one million
+ * fingerprints, for a duplicate and for a new event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationDedupBenchmark {
+
+    private static final int SENT = 1_000_000;
+
+    private FingerprintSet sent;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        sent = new FingerprintSet(SENT);
+        for (int i = 0; i < SENT; i++) {
+            sent.add(NotificationDeduplicator.fingerprint(String.valueOf(i), "appointment-created", "2025-03-03T09:00/SCHEDULED"));
+        }
+    }
+
+    @Benchmark
+    public boolean duplicate() {
+        next = (next + 1) % SENT;
+        return sent.contains(NotificationDeduplicator.fingerprint(String.valueOf(next), "appointment-created", "2025-03-03T09:00/SCHEDULED"));
+    }
+
+    @Benchmark
+    public boolean newEvent() {
+        next = (next + 1) % SENT;
+        return sent.contains(NotificationDeduplicator.fingerprint(String.valueOf(next), "appointment-cancelled", "2025-03-03T09:00/CANCELLED"));
+    }
+}
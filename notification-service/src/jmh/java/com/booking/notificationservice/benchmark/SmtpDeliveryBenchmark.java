@@ -0,0 +1,69 @@
+package com.booking.notificationservice.benchmark;
+
+import com.booking.notificationservice.service.EmailService;
+import com.booking.notificationservice.service.LocalSmtpServer;
+import com.booking.notificationservice.service.SmtpDeliveryEngine;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emails per second from 16 concurrent callers to an in-process SMTP server
+ * that delays each reply by 1 ms: the pooled delivery engine against a new
+ * connection per message, as JavaMailSenderImpl.send does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SmtpDeliveryBenchmark {
+
+    @Param({"4", "8"})
+    private int maxConnections;
+
+    private LocalSmtpServer server;
+    private JavaMailSenderImpl mailSender;
+    private SmtpDeliveryEngine engine;
+    private EmailService emailService;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new LocalSmtpServer();
+        server.setReplyDelayMillis(1);
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(server.getPort());
+        Properties properties = new Properties();
+        properties.put("mail.from", "noreply@example.com");
+        mailSender.setJavaMailProperties(properties);
+        engine = new SmtpDeliveryEngine(mailSender, maxConnections, 100, 30_000, 5, 1_000, 60_000);
+        emailService = new EmailService(engine);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        engine.shutdown();
+        server.close();
+    }
+
+    @Benchmark
+    public void pooledConnections() {
+        emailService.sendEmail("patient@example.com", "Appointment Reminder", "See you soon");
+    }
+
+    @Benchmark
+    public void connectionPerMessage() {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo("patient@example.com");
+        message.setSubject("Appointment Reminder");
+        message.setText("See you soon");
+        mailSender.send(message);
+    }
+}
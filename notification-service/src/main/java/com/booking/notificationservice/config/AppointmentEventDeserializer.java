@@ -0,0 +1,39 @@
+package com.booking.notificationservice.config;
+
+import com.booking.notificationservice.model.AppointmentEvent;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads appointment events straight into {@link AppointmentEvent} with one
+ * shared, preconfigured reader, instead of building a Map per record and
+ * casting its fields.
+ *
+ * Schema evolution rules: unknown properties from newer producers are
+ * ignored, absent properties are left null, and a null or empty payload is
+ * rejected so the error handling deserializer can report it.
+ */
+public class AppointmentEventDeserializer implements Deserializer<AppointmentEvent> {
+
+    private static final ObjectReader READER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build()
+            .readerFor(AppointmentEvent.class);
+
+    @Override
+    public AppointmentEvent deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            throw new SerializationException("Empty appointment event on " + topic);
+        }
+        try {
+            return READER.readValue(data);
+        } catch (IOException e) {
+            throw new SerializationException("Invalid appointment event on " + topic, e);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.booking.notificationservice.controller;
 
+import com.booking.notificationservice.model.DeadLetter;
+import com.booking.notificationservice.service.DeadLetterService;
 import com.booking.notificationservice.service.EmailService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -12,10 +15,12 @@ import java.util.Map;
 public class NotificationController {
 
     private final EmailService emailService;
+    private final DeadLetterService deadLetterService;
 
     @Autowired
-    public NotificationController(EmailService emailService) {
+    public NotificationController(EmailService emailService, DeadLetterService deadLetterService) {
         this.emailService = emailService;
+        this.deadLetterService = deadLetterService;
     }
 
     @PostMapping("/email")
@@ -76,4 +81,15 @@ public class NotificationController {
             return ResponseEntity.badRequest().body("Failed to send cancellation email: " + e.getMessage());
         }
     }
+
+    // Notifications that exhausted their retries and have not been replayed yet, with the failure cause
+    @GetMapping("/dead-letters")
+    public ResponseEntity<List<DeadLetter>> getDeadLetters(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(deadLetterService.findPending(limit));
+    }
+
+    @PostMapping("/dead-letters/replay")
+    public ResponseEntity<Map<String, Integer>> replayDeadLetters(@RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(Map.of("replayed", deadLetterService.replay(limit)));
+    }
 }
\ No newline at end of file
@@ -1,15 +1,22 @@
 package com.booking.notificationservice.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /**
- * Model class representing an appointment event received from Kafka
+ * Model class representing an appointment event received from Kafka.
+ *
+ * The payload is JSON and evolves compatibly: fields may be added but never
+ * renamed or retyped, fields this model does not know are ignored and
+ * missing fields stay null (see AppointmentEventDeserializer). Null fields
+ * are left out when the event is republished to the retry topics.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AppointmentEvent {
     private Long appointmentId;
     private Long patientId;
@@ -19,4 +26,6 @@ public class AppointmentEvent {
     private String appointmentDate;
     private String appointmentTime;
     private String status;
-}
\ No newline at end of file
+    // Row version of the appointment; Appointment-service always sends it, other producers may not
+    private Long version;
+}
@@ -0,0 +1,22 @@
+package com.booking.notificationservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A notification on the dead-letter topic, with the failure recorded when it
+ * was moved there
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetter {
+    private int partition;
+    private long offset;
+    private String appointmentKey;
+    private String sourceTopic;
+    private AppointmentEvent payload;
+    private String exceptionClass;
+    private String exceptionMessage;
+}
@@ -0,0 +1,135 @@
+package com.booking.notificationservice.service;
+
+import com.booking.notificationservice.model.AppointmentEvent;
+import com.booking.notificationservice.model.DeadLetter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reads and replays the notification dead-letter topic. A separate consumer
+ * group tracks which dead letters have been replayed; replaying sends them
+ * back to the retry topic with a fresh set of attempts.
+ */
+@Service
+@Slf4j
+public class DeadLetterService {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final ConsumerFactory<String, AppointmentEvent> consumerFactory;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String retryTopic;
+    private final String deadLetterTopic;
+    private final String replayGroupId;
+
+    @Autowired
+    public DeadLetterService(ConsumerFactory<String, AppointmentEvent> consumerFactory,
+                             KafkaTemplate<String, Object> kafkaTemplate,
+                             @Value("${notification.retry.topic:notification-failed}") String retryTopic,
+                             @Value("${notification.dead-letter.replay-group-id:notification-service-dlt-replay}") String replayGroupId) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.retryTopic = retryTopic;
+        this.deadLetterTopic = retryTopic + "-dlt";
+        this.replayGroupId = replayGroupId;
+    }
+
+    public synchronized List<DeadLetter> findPending(int limit) {
+        try (Consumer<String, AppointmentEvent> consumer = openAtReplayPosition()) {
+            return pollPending(consumer, limit).stream().map(this::toDeadLetter).toList();
+        }
+    }
+
+    /**
+     * Sends up to limit pending dead letters back to the retry topic and
+     * marks them replayed once the broker has accepted them.
+     */
+    public synchronized int replay(int limit) {
+        try (Consumer<String, AppointmentEvent> consumer = openAtReplayPosition()) {
+            List<ConsumerRecord<String, AppointmentEvent>> records = pollPending(consumer, limit);
+            Map<TopicPartition, OffsetAndMetadata> replayed = new HashMap<>();
+            CompletableFuture<?>[] sends = new CompletableFuture<?>[records.size()];
+            for (int i = 0; i < records.size(); i++) {
+                ConsumerRecord<String, AppointmentEvent> record = records.get(i);
+                ProducerRecord<String, Object> retry = new ProducerRecord<>(retryTopic, record.key(), record.value());
+                String sourceTopic = KafkaConsumerService.header(record, KafkaConsumerService.SOURCE_TOPIC_HEADER);
+                if (sourceTopic != null) {
+                    retry.headers().add(KafkaConsumerService.SOURCE_TOPIC_HEADER, sourceTopic.getBytes(StandardCharsets.UTF_8));
+                }
+                sends[i] = kafkaTemplate.send(retry);
+                replayed.put(new TopicPartition(record.topic(), record.partition()), new OffsetAndMetadata(record.offset() + 1));
+            }
+            CompletableFuture.allOf(sends).join();
+            consumer.commitSync(replayed);
+            log.info("Replayed {} dead letters to {}", records.size(), retryTopic);
+            return records.size();
+        }
+    }
+
+    private Consumer<String, AppointmentEvent> openAtReplayPosition() {
+        Consumer<String, AppointmentEvent> consumer = consumerFactory.createConsumer(replayGroupId, "-replay");
+        List<TopicPartition> partitions = consumer.partitionsFor(deadLetterTopic).stream()
+                .map(info -> new TopicPartition(info.topic(), info.partition()))
+                .toList();
+        consumer.assign(partitions);
+        Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(new HashSet<>(partitions));
+        for (TopicPartition partition : partitions) {
+            OffsetAndMetadata offset = committed.get(partition);
+            if (offset != null) {
+                consumer.seek(partition, offset.offset());
+            } else {
+                consumer.seekToBeginning(List.of(partition));
+            }
+        }
+        return consumer;
+    }
+
+    // Reads from the replay position up to the end offsets at the time of the call
+    private List<ConsumerRecord<String, AppointmentEvent>> pollPending(Consumer<String, AppointmentEvent> consumer, int limit) {
+        Set<TopicPartition> partitions = consumer.assignment();
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+        List<ConsumerRecord<String, AppointmentEvent>> records = new ArrayList<>();
+        while (records.size() < limit
+                && partitions.stream().anyMatch(partition -> consumer.position(partition) < endOffsets.get(partition))) {
+            ConsumerRecords<String, AppointmentEvent> polled = consumer.poll(POLL_TIMEOUT);
+            if (polled.isEmpty()) {
+                break;
+            }
+            for (ConsumerRecord<String, AppointmentEvent> record : polled) {
+                TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                if (records.size() < limit && record.offset() < endOffsets.get(partition)) {
+                    records.add(record);
+                }
+            }
+        }
+        return records;
+    }
+
+    private DeadLetter toDeadLetter(ConsumerRecord<String, AppointmentEvent> record) {
+        return new DeadLetter(record.partition(), record.offset(), record.key(),
+                KafkaConsumerService.header(record, KafkaConsumerService.SOURCE_TOPIC_HEADER),
+                record.value(),
+                KafkaConsumerService.failureClass(record),
+                KafkaConsumerService.failureMessage(record));
+    }
+}
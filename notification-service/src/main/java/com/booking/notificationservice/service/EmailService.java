@@ -1,34 +1,43 @@
 package com.booking.notificationservice.service;
 
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final SmtpDeliveryEngine deliveryEngine;
 
     @Autowired
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(SmtpDeliveryEngine deliveryEngine) {
+        this.deliveryEngine = deliveryEngine;
     }
 
     /**
-     * Send a simple email notification
+     * Send a simple email notification over a pooled SMTP connection
      * 
      * @param to recipient email address
      * @param subject email subject
      * @param body email content
      */
     public void sendEmail(String to, String subject, String body) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(body);
+        MimeMessage message = deliveryEngine.createMimeMessage();
+        try {
+            MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+            helper.setTo(to);
+            helper.setSubject(subject);
+            helper.setText(body);
+        } catch (MessagingException e) {
+            throw new MailPreparationException(e);
+        }
         
-        mailSender.send(message);
+        deliveryEngine.send(message);
     }
     
     /**
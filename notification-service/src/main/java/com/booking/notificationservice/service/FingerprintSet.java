@@ -0,0 +1,84 @@
+package com.booking.notificationservice.service;
+
+/**
+ * A hash set of 64-bit fingerprints in one flat long array with open
+ * addressing, so an entry costs 8 bytes plus free space (16 bytes at the
+ * maximum load) and a lookup is a few array reads. Zero marks an empty slot,
+ * so a zero fingerprint is stored as one.
+ */
+public final class FingerprintSet {
+
+    private static final int MAX_LOAD_PERCENT = 50;
+
+    private long[] slots;
+    private int mask;
+    private int size;
+
+    public FingerprintSet(int expectedSize) {
+        allocate(tableSizeFor(Math.max(16, expectedSize * (100 / MAX_LOAD_PERCENT))));
+    }
+
+    public synchronized boolean contains(long fingerprint) {
+        long value = nonZero(fingerprint);
+        for (int i = (int) value & mask; ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == value) {
+                return true;
+            }
+            if (slot == 0) {
+                return false;
+            }
+        }
+    }
+
+    public synchronized boolean add(long fingerprint) {
+        if ((size + 1) * 100L > (long) slots.length * MAX_LOAD_PERCENT) {
+            grow();
+        }
+        if (insert(nonZero(fingerprint))) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private boolean insert(long value) {
+        for (int i = (int) value & mask; ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == value) {
+                return false;
+            }
+            if (slot == 0) {
+                slots[i] = value;
+                return true;
+            }
+        }
+    }
+
+    private void grow() {
+        long[] old = slots;
+        allocate(old.length * 2);
+        for (long value : old) {
+            if (value != 0) {
+                insert(value);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private static long nonZero(long fingerprint) {
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+}
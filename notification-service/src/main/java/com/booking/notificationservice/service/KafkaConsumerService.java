@@ -1,68 +1,213 @@
 package com.booking.notificationservice.service;
 
+import com.booking.notificationservice.model.AppointmentEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Slf4j
 public class KafkaConsumerService {
 
+    public static final String APPOINTMENT_CREATED = "appointment-created";
+    public static final String APPOINTMENT_REMINDER = "appointment-reminder";
+    public static final String APPOINTMENT_CANCELLED = "appointment-cancelled";
+
+    // The topic a retried notification was first consumed from, which decides the email sent
+    public static final String SOURCE_TOPIC_HEADER = "notification-source-topic";
+
     private final EmailService emailService;
     private final ObjectMapper objectMapper;
+    private final NotificationDispatcher dispatcher;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final NotificationDeduplicator deduplicator;
+    private final String retryTopic;
 
     @Autowired
-    public KafkaConsumerService(EmailService emailService, ObjectMapper objectMapper) {
+    public KafkaConsumerService(EmailService emailService, ObjectMapper objectMapper, NotificationDispatcher dispatcher,
+                                KafkaTemplate<String, Object> kafkaTemplate, NotificationDeduplicator deduplicator,
+                                @Value("${notification.retry.topic:notification-failed}") String retryTopic) {
         this.emailService = emailService;
         this.objectMapper = objectMapper;
+        this.dispatcher = dispatcher;
+        this.kafkaTemplate = kafkaTemplate;
+        this.deduplicator = deduplicator;
+        this.retryTopic = retryTopic;
+    }
+
+    @KafkaListener(id = APPOINTMENT_CREATED, topics = APPOINTMENT_CREATED,
+            groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${notification.kafka.concurrency.appointment-created:3}")
+    public void handleAppointmentCreated(List<ConsumerRecord<String, AppointmentEvent>> records) {
+        log.info("Received {} appointment creation events", records.size());
+        deliverBatch(APPOINTMENT_CREATED, records);
     }
 
-    @KafkaListener(topics = "appointment-created", groupId = "${spring.kafka.consumer.group-id}")
-    public void handleAppointmentCreated(Map<String, Object> appointmentData) {
-        try {
-            log.info("Received appointment creation event: {}", appointmentData);
-            String email = (String) appointmentData.get("patientEmail");
-            String doctorName = (String) appointmentData.get("doctorName");
-            String appointmentDate = (String) appointmentData.get("appointmentDate");
-            String appointmentTime = (String) appointmentData.get("appointmentTime");
-            
-            emailService.sendAppointmentConfirmation(email, doctorName, appointmentDate, appointmentTime);
-        } catch (Exception e) {
-            log.error("Error processing appointment creation event", e);
+    @KafkaListener(id = APPOINTMENT_REMINDER, topics = APPOINTMENT_REMINDER,
+            groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${notification.kafka.concurrency.appointment-reminder:6}")
+    public void handleAppointmentReminder(List<ConsumerRecord<String, AppointmentEvent>> records) {
+        log.info("Received {} appointment reminder events", records.size());
+        deliverBatch(APPOINTMENT_REMINDER, records);
+    }
+
+    @KafkaListener(id = APPOINTMENT_CANCELLED, topics = APPOINTMENT_CANCELLED,
+            groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${notification.kafka.concurrency.appointment-cancelled:3}")
+    public void handleAppointmentCancelled(List<ConsumerRecord<String, AppointmentEvent>> records) {
+        log.info("Received {} appointment cancellation events", records.size());
+        deliverBatch(APPOINTMENT_CANCELLED, records);
+    }
+
+    /**
+     * Retries notifications that failed on the appointment topics. Each failed
+     * attempt moves the record to the next, slower retry topic and finally to
+     * the dead-letter topic; waiting for a retry pauses only the retry topic
+     * partition, never the appointment topics.
+     */
+    @RetryableTopic(
+            attempts = "${notification.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${notification.retry.initial-delay-ms:10000}",
+                    multiplierExpression = "${notification.retry.multiplier:6}",
+                    maxDelayExpression = "${notification.retry.max-delay-ms:600000}"),
+            numPartitions = "${notification.retry.partitions:6}",
+            dltTopicSuffix = "-dlt",
+            listenerContainerFactory = "retryListenerContainerFactory",
+            kafkaTemplate = "kafkaTemplate")
+    @KafkaListener(id = "notification-retry", topics = "${notification.retry.topic:notification-failed}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "retryListenerContainerFactory")
+    public void handleRetry(ConsumerRecord<String, AppointmentEvent> record) {
+        String sourceTopic = header(record, SOURCE_TOPIC_HEADER);
+        log.info("Retrying {} notification for appointment {}", sourceTopic, record.key());
+        deliverOnce(sourceTopic, record.value());
+    }
+
+    // The record stays on the dead-letter topic, with the failure in its headers, until it is replayed
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, AppointmentEvent> record) {
+        log.error("Giving up on {} notification for appointment {}: {}", header(record, SOURCE_TOPIC_HEADER),
+                record.key(), failureMessage(record));
+    }
+
+    /**
+     * Delivers a polled batch and moves the records that failed to the retry
+     * topic. The batch offsets are committed only when this returns, so the
+     * retry records are acknowledged by the broker first.
+     */
+    private void deliverBatch(String topic, List<ConsumerRecord<String, AppointmentEvent>> records) {
+        List<ConsumerRecord<String, AppointmentEvent>> readable = records.stream()
+                .filter(record -> {
+                    if (record.value() == null) {
+                        // Retrying cannot make an unreadable payload readable
+                        log.error("Skipping unreadable {} record {}-{}@{}", topic, record.topic(), record.partition(),
+                                record.offset());
+                        return false;
+                    }
+                    return true;
+                })
+                .toList();
+        Map<ConsumerRecord<String, AppointmentEvent>, Exception> failed =
+                dispatcher.dispatch(readable, event -> deliverOnce(topic, event));
+        if (failed.isEmpty()) {
+            return;
         }
+        CompletableFuture<?>[] sends = failed.entrySet().stream()
+                .map(failure -> {
+                    ConsumerRecord<String, AppointmentEvent> record = failure.getKey();
+                    log.warn("Moving {} notification for appointment {} to {}: {}", topic, record.key(), retryTopic,
+                            failure.getValue().getMessage());
+                    ProducerRecord<String, Object> retry = new ProducerRecord<>(retryTopic, record.key(), record.value());
+                    retry.headers().add(SOURCE_TOPIC_HEADER, topic.getBytes(StandardCharsets.UTF_8));
+                    return kafkaTemplate.send(retry);
+                })
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(sends).join();
     }
 
-    @KafkaListener(topics = "appointment-reminder", groupId = "${spring.kafka.consumer.group-id}")
-    public void handleAppointmentReminder(Map<String, Object> appointmentData) {
-        try {
-            log.info("Received appointment reminder event: {}", appointmentData);
-            String email = (String) appointmentData.get("patientEmail");
-            String doctorName = (String) appointmentData.get("doctorName");
-            String appointmentDate = (String) appointmentData.get("appointmentDate");
-            String appointmentTime = (String) appointmentData.get("appointmentTime");
-            
-            emailService.sendAppointmentReminder(email, doctorName, appointmentDate, appointmentTime);
-        } catch (Exception e) {
-            log.error("Error processing appointment reminder event", e);
+    /**
+     * Sends the notification unless this version of the event was already
+     * sent. Events without an appointment id cannot be told apart and are
+     * always sent.
+     */
+    private void deliverOnce(String topic, AppointmentEvent event) {
+        if (event.getAppointmentId() == null) {
+            deliver(topic, event);
+            return;
+        }
+        String id = String.valueOf(event.getAppointmentId());
+        String version = eventVersion(event);
+        if (deduplicator.alreadySent(id, topic, version)) {
+            log.info("Skipping duplicate {} notification for appointment {}", topic, id);
+            return;
         }
+        deliver(topic, event);
+        deduplicator.markSent(id, topic, version);
     }
 
-    @KafkaListener(topics = "appointment-cancelled", groupId = "${spring.kafka.consumer.group-id}")
-    public void handleAppointmentCancelled(Map<String, Object> appointmentData) {
-        try {
-            log.info("Received appointment cancellation event: {}", appointmentData);
-            String email = (String) appointmentData.get("patientEmail");
-            String doctorName = (String) appointmentData.get("doctorName");
-            String appointmentDate = (String) appointmentData.get("appointmentDate");
-            String appointmentTime = (String) appointmentData.get("appointmentTime");
-            
-            emailService.sendAppointmentCancellation(email, doctorName, appointmentDate, appointmentTime);
-        } catch (Exception e) {
-            log.error("Error processing appointment cancellation event", e);
+    // Appointment-service sends the appointment's row version; only producers without one fall back to slot and status
+    private static String eventVersion(AppointmentEvent event) {
+        if (event.getVersion() != null) {
+            return String.valueOf(event.getVersion());
         }
+        return event.getAppointmentDate() + "T" + event.getAppointmentTime() + "/" + event.getStatus();
+    }
+
+    void deliver(String topic, AppointmentEvent event) {
+        if (topic == null) {
+            throw new IllegalArgumentException("Notification has no source topic");
+        }
+        String email = event.getPatientEmail();
+        String doctorName = event.getDoctorName();
+        String appointmentDate = event.getAppointmentDate();
+        String appointmentTime = event.getAppointmentTime();
+
+        switch (topic) {
+            case APPOINTMENT_CREATED ->
+                    emailService.sendAppointmentConfirmation(email, doctorName, appointmentDate, appointmentTime);
+            case APPOINTMENT_REMINDER ->
+                    emailService.sendAppointmentReminder(email, doctorName, appointmentDate, appointmentTime);
+            case APPOINTMENT_CANCELLED ->
+                    emailService.sendAppointmentCancellation(email, doctorName, appointmentDate, appointmentTime);
+            default -> throw new IllegalArgumentException("Unknown notification topic: " + topic);
+        }
+    }
+
+    // The first of the named headers present on the record
+    static String header(ConsumerRecord<?, ?> record, String... names) {
+        for (String name : names) {
+            Header header = record.headers().lastHeader(name);
+            if (header != null) {
+                return new String(header.value(), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    // Retry topics record the failure in kafka_exception-* headers, a plain dead-letter recoverer in kafka_dlt-exception-*
+    static String failureClass(ConsumerRecord<?, ?> record) {
+        return header(record, KafkaHeaders.EXCEPTION_CAUSE_FQCN, KafkaHeaders.EXCEPTION_FQCN,
+                KafkaHeaders.DLT_EXCEPTION_CAUSE_FQCN, KafkaHeaders.DLT_EXCEPTION_FQCN);
+    }
+
+    static String failureMessage(ConsumerRecord<?, ?> record) {
+        return header(record, KafkaHeaders.EXCEPTION_MESSAGE, KafkaHeaders.DLT_EXCEPTION_MESSAGE);
     }
-}
\ No newline at end of file
+}
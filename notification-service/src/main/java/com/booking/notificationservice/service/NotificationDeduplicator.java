@@ -0,0 +1,219 @@
+package com.booking.notificationservice.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import com.booking.notificationservice.model.AppointmentEvent;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers which notifications have been sent, keyed by (appointment id,
+ * event type, version), so a redelivered or rebalanced event does not email
+ * the patient twice.
+ *
+ * Lookups only touch two in-memory {@link FingerprintSet} generations: a
+ * fingerprint is remembered for at least one window and at most two. Sent
+ * fingerprints are also appended, without waiting, to a compacted topic that
+ * expires after two windows. Every instance loads that topic at startup and
+ * then keeps tailing it, so history survives restarts and follows partitions
+ * to their new owner after a rebalance.
+ */
+@Component
+@Slf4j
+public class NotificationDeduplicator {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final ConsumerFactory<String, AppointmentEvent> consumerFactory;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaAdmin kafkaAdmin;
+    private final String sentTopic;
+    private final int partitions;
+    private final long windowMillis;
+    private final int expectedPerWindow;
+    private final long loadTimeoutMillis;
+
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private volatile FingerprintSet current;
+    private volatile FingerprintSet previous;
+    private volatile long currentStartedAt;
+    private volatile boolean running = true;
+    private volatile Consumer<String, AppointmentEvent> storeConsumer;
+    private Thread storeReader;
+
+    @Autowired
+    public NotificationDeduplicator(ConsumerFactory<String, AppointmentEvent> consumerFactory,
+                                    KafkaTemplate<String, Object> kafkaTemplate,
+                                    KafkaAdmin kafkaAdmin,
+                                    @Value("${notification.dedup.topic:notification-sent}") String sentTopic,
+                                    @Value("${notification.dedup.partitions:3}") int partitions,
+                                    @Value("${notification.dedup.window-hours:168}") long windowHours,
+                                    @Value("${notification.dedup.expected-per-window:100000}") int expectedPerWindow,
+                                    @Value("${notification.dedup.load-timeout-ms:30000}") long loadTimeoutMillis) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaAdmin = kafkaAdmin;
+        this.sentTopic = sentTopic;
+        this.partitions = partitions;
+        this.windowMillis = TimeUnit.HOURS.toMillis(windowHours);
+        this.expectedPerWindow = expectedPerWindow;
+        this.loadTimeoutMillis = loadTimeoutMillis;
+        this.current = new FingerprintSet(expectedPerWindow);
+        this.previous = new FingerprintSet(16);
+        this.currentStartedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Loads the sent history before the listener containers start, so the
+     * first batches after a restart are already deduplicated.
+     */
+    @PostConstruct
+    public void start() throws InterruptedException {
+        NewTopic topic = TopicBuilder.name(sentTopic)
+                .partitions(partitions)
+                .config(TopicConfig.CLEANUP_POLICY_CONFIG,
+                        TopicConfig.CLEANUP_POLICY_COMPACT + "," + TopicConfig.CLEANUP_POLICY_DELETE)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(2 * windowMillis))
+                .build();
+        try {
+            kafkaAdmin.createOrModifyTopics(topic);
+        } catch (RuntimeException e) {
+            log.warn("Could not create {}, sent notifications are only remembered in memory until it exists", sentTopic, e);
+        }
+
+        storeReader = new Thread(this::readStore, "notification-dedup-store");
+        storeReader.setDaemon(true);
+        storeReader.start();
+        if (!loaded.await(loadTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            log.warn("Sent notification history not loaded within {} ms, continuing with what has been read",
+                    loadTimeoutMillis);
+        }
+    }
+
+    public boolean alreadySent(String appointmentId, String eventType, String version) {
+        long fingerprint = fingerprint(appointmentId, eventType, version);
+        rotateIfDue();
+        return current.contains(fingerprint) || previous.contains(fingerprint);
+    }
+
+    public void markSent(String appointmentId, String eventType, String version) {
+        long fingerprint = fingerprint(appointmentId, eventType, version);
+        remember(fingerprint);
+        kafkaTemplate.send(sentTopic, Long.toHexString(fingerprint), Map.of("sentAt", System.currentTimeMillis()))
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.warn("Could not record sent notification {}", Long.toHexString(fingerprint), e);
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Consumer<String, AppointmentEvent> consumer = storeConsumer;
+        if (consumer != null) {
+            consumer.wakeup();
+        }
+    }
+
+    public static long fingerprint(String appointmentId, String eventType, String version) {
+        // FNV-1a over the key, then the MurmurHash3 finalizer to spread the bits
+        long hash = 0xcbf29ce484222325L;
+        byte[] key = (appointmentId + '\u0000' + eventType + '\u0000' + version).getBytes(StandardCharsets.UTF_8);
+        for (byte b : key) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private void remember(long fingerprint) {
+        rotateIfDue();
+        current.add(fingerprint);
+    }
+
+    private void rotateIfDue() {
+        if (System.currentTimeMillis() - currentStartedAt < windowMillis) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (now - currentStartedAt >= windowMillis) {
+                previous = current;
+                current = new FingerprintSet(expectedPerWindow);
+                currentStartedAt = now;
+            }
+        }
+    }
+
+    // Only the keys are read; the values are not appointment events
+    private static Properties storeConsumerProperties() {
+        Properties properties = new Properties();
+        properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        return properties;
+    }
+
+    private void readStore() {
+        while (running) {
+            try (Consumer<String, AppointmentEvent> consumer =
+                         consumerFactory.createConsumer(null, null, "-dedup", storeConsumerProperties())) {
+                storeConsumer = consumer;
+                List<TopicPartition> assigned = consumer.partitionsFor(sentTopic).stream()
+                        .map(info -> new TopicPartition(info.topic(), info.partition()))
+                        .toList();
+                consumer.assign(assigned);
+                consumer.seekToBeginning(assigned);
+                Map<TopicPartition, Long> endOffsets = consumer.endOffsets(assigned);
+                long cutoff = System.currentTimeMillis() - 2 * windowMillis;
+                while (running) {
+                    for (ConsumerRecord<String, AppointmentEvent> record : consumer.poll(POLL_TIMEOUT)) {
+                        if (record.key() != null && record.timestamp() >= cutoff) {
+                            remember(Long.parseUnsignedLong(record.key(), 16));
+                        }
+                    }
+                    if (loaded.getCount() > 0
+                            && assigned.stream().allMatch(partition -> consumer.position(partition) >= endOffsets.get(partition))) {
+                        log.info("Loaded sent notification history from {}", sentTopic);
+                        loaded.countDown();
+                    }
+                }
+            } catch (WakeupException e) {
+                return;
+            } catch (Exception e) {
+                log.warn("Reading sent notification history failed, reconnecting", e);
+                try {
+                    Thread.sleep(POLL_TIMEOUT.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.booking.notificationservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Delivers the records of a polled batch on a shared worker pool, so the
+ * listener threads only poll and wait instead of sending one email at a time.
+ *
+ * Records with the same key (the appointment id) are delivered in order on
+ * one worker; different keys run in parallel. {@link #dispatch} returns once
+ * every record has been handled, with the records that could not be
+ * delivered. After a failure the remaining records of that key are not
+ * attempted and are returned as well, so they can follow the failed one to
+ * the retry topic in order.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final ThreadPoolExecutor workers;
+
+    @Autowired
+    public NotificationDispatcher(@Value("${notification.dispatch.threads:16}") int threads,
+                                  @Value("${notification.dispatch.queue-capacity:1000}") int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-dispatch-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // A saturated pool makes the listener thread send, which slows polling down
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public <V> Map<ConsumerRecord<String, V>, Exception> dispatch(List<ConsumerRecord<String, V>> records,
+                                                               Consumer<V> delivery) {
+        Map<Object, List<Integer>> byKey = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            String key = records.get(i).key();
+            byKey.computeIfAbsent(key != null ? key : new Object(), k -> new ArrayList<>()).add(i);
+        }
+
+        Map<Integer, Exception> failures = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] groups = new CompletableFuture<?>[byKey.size()];
+        int g = 0;
+        for (List<Integer> indexes : byKey.values()) {
+            groups[g++] = CompletableFuture.runAsync(() -> {
+                Exception failure = null;
+                for (int index : indexes) {
+                    if (failure == null) {
+                        try {
+                            delivery.accept(records.get(index).value());
+                        } catch (Exception e) {
+                            failure = e;
+                        }
+                    }
+                    if (failure != null) {
+                        failures.put(index, failure);
+                    }
+                }
+            }, workers);
+        }
+        CompletableFuture.allOf(groups).join();
+
+        Map<ConsumerRecord<String, V>, Exception> failed = new LinkedHashMap<>();
+        failures.keySet().stream().sorted()
+                .forEach(index -> failed.put(records.get(index), failures.get(index)));
+        if (!failed.isEmpty()) {
+            log.warn("Delivery failed for {} of {} records", failed.size(), records.size());
+        }
+        return failed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
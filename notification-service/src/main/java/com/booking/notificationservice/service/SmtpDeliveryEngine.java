@@ -0,0 +1,258 @@
+package com.booking.notificationservice.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPTransport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends mail through a fixed pool of authenticated SMTP connections to the
+ * configured relay (spring.mail.*) instead of one connection per message.
+ *
+ * Each sender thread owns one connection and sends queued messages over it
+ * back to back, reconnecting after messages-per-connection messages or an
+ * idle period. The pool size is the relay's concurrency limit. A 4xx reply
+ * throttles every sender with exponential backoff and the message is retried;
+ * a 5xx reply fails the message at once.
+ */
+@Component
+@Slf4j
+public class SmtpDeliveryEngine {
+
+    private final JavaMailSenderImpl mailSender;
+    private final int messagesPerConnection;
+    private final long idleTimeoutMillis;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    // Callers block until their message is sent, so the queue is bounded by the number of callers
+    private final BlockingQueue<PendingMessage> queue = new LinkedBlockingQueue<>();
+    private final List<Thread> senders = new ArrayList<>();
+    private final AtomicLong throttledUntil = new AtomicLong();
+    private final AtomicInteger consecutiveTransientFailures = new AtomicInteger();
+    private volatile boolean running = true;
+
+    @Autowired
+    public SmtpDeliveryEngine(JavaMailSenderImpl mailSender,
+                              @Value("${notification.mail.max-connections:4}") int maxConnections,
+                              @Value("${notification.mail.messages-per-connection:100}") int messagesPerConnection,
+                              @Value("${notification.mail.idle-timeout-ms:30000}") long idleTimeoutMillis,
+                              @Value("${notification.mail.max-attempts:5}") int maxAttempts,
+                              @Value("${notification.mail.backoff.initial-ms:1000}") long initialBackoffMillis,
+                              @Value("${notification.mail.backoff.max-ms:60000}") long maxBackoffMillis) {
+        this.mailSender = mailSender;
+        this.messagesPerConnection = messagesPerConnection;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        for (int i = 1; i <= maxConnections; i++) {
+            Thread sender = new Thread(new Sender(), "smtp-sender-" + i);
+            sender.setDaemon(true);
+            sender.start();
+            senders.add(sender);
+        }
+    }
+
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    /**
+     * Queues the message for the next free connection and waits until it has
+     * been accepted by the relay or has failed for good.
+     */
+    public void send(MimeMessage message) {
+        if (!running) {
+            throw new MailSendException("SMTP delivery is shut down");
+        }
+        PendingMessage pending = new PendingMessage(message);
+        queue.add(pending);
+        // A shutdown between the check above and the add has already drained the queue and stopped the senders
+        if (!running && queue.remove(pending)) {
+            throw new MailSendException("SMTP delivery is shut down");
+        }
+        try {
+            pending.result.join();
+        } catch (CompletionException e) {
+            throw (MailSendException) e.getCause();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        senders.forEach(Thread::interrupt);
+        PendingMessage pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new MailSendException("SMTP delivery is shut down"));
+        }
+    }
+
+    private void throttle() {
+        int failures = consecutiveTransientFailures.incrementAndGet();
+        long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(failures - 1, 20));
+        throttledUntil.accumulateAndGet(System.currentTimeMillis() + backoff, Math::max);
+    }
+
+    private void awaitThrottle() throws InterruptedException {
+        long wait;
+        while ((wait = throttledUntil.get() - System.currentTimeMillis()) > 0) {
+            Thread.sleep(wait);
+        }
+    }
+
+    /**
+     * The SMTP reply code of a failed command, or -1 when the failure was not
+     * a reply (a dropped connection or I/O error).
+     */
+    private static int replyCode(MessagingException e, Transport transport) {
+        Exception next = e;
+        while (next != null) {
+            if (next instanceof SMTPSendFailedException failed) {
+                return failed.getReturnCode();
+            }
+            if (next instanceof SMTPAddressFailedException failed) {
+                return failed.getReturnCode();
+            }
+            next = next instanceof MessagingException messaging ? messaging.getNextException() : null;
+        }
+        if (e instanceof AuthenticationFailedException) {
+            return 535;
+        }
+        return transport instanceof SMTPTransport smtp ? smtp.getLastReturnCode() : -1;
+    }
+
+    private static final class PendingMessage {
+
+        private final MimeMessage message;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private int attempts;
+
+        private PendingMessage(MimeMessage message) {
+            this.message = message;
+        }
+    }
+
+    private final class Sender implements Runnable {
+
+        private Transport transport;
+        private int sentOnConnection;
+
+        @Override
+        public void run() {
+            PendingMessage pending = null;
+            try {
+                while (running) {
+                    pending = queue.poll(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+                    if (pending == null) {
+                        disconnect();
+                    } else {
+                        deliver(pending);
+                        pending = null;
+                    }
+                }
+            } catch (InterruptedException e) {
+                if (pending != null) {
+                    pending.result.completeExceptionally(new MailSendException("SMTP delivery is shut down"));
+                }
+                Thread.currentThread().interrupt();
+            } finally {
+                disconnect();
+            }
+        }
+
+        private void deliver(PendingMessage pending) throws InterruptedException {
+            while (true) {
+                awaitThrottle();
+                pending.attempts++;
+                try {
+                    if (transport == null || sentOnConnection >= messagesPerConnection) {
+                        connect();
+                    }
+                    MimeMessage message = pending.message;
+                    if (message.getSentDate() == null) {
+                        message.setSentDate(new Date());
+                    }
+                    message.saveChanges();
+                    transport.sendMessage(message, message.getAllRecipients());
+                    sentOnConnection++;
+                    consecutiveTransientFailures.set(0);
+                    pending.result.complete(null);
+                    return;
+                } catch (MessagingException e) {
+                    int code = replyCode(e, transport);
+                    // The connection state after a failed command is unknown; start the next try on a fresh one
+                    disconnect();
+                    boolean transientFailure = code < 500;
+                    if (!transientFailure || pending.attempts >= maxAttempts) {
+                        log.warn("SMTP delivery failed after {} attempts (reply {})", pending.attempts, code);
+                        pending.result.completeExceptionally(new MailSendException("SMTP delivery failed", e));
+                        return;
+                    }
+                    if (code >= 400) {
+                        log.info("SMTP relay deferred delivery with {}, backing off", code);
+                        throttle();
+                    }
+                } catch (RuntimeException e) {
+                    disconnect();
+                    pending.result.completeExceptionally(new MailSendException("SMTP delivery failed", e));
+                    return;
+                }
+            }
+        }
+
+        private void connect() throws MessagingException {
+            disconnect();
+            Session session = mailSender.getSession();
+            transport = session.getTransport(protocol(session));
+            transport.connect(mailSender.getHost(), mailSender.getPort(),
+                    mailSender.getUsername(), mailSender.getPassword());
+            sentOnConnection = 0;
+        }
+
+        // Same resolution as JavaMailSenderImpl: no protocol is set unless spring.mail.protocol is configured
+        private String protocol(Session session) {
+            String protocol = mailSender.getProtocol();
+            if (protocol == null) {
+                protocol = session.getProperty("mail.transport.protocol");
+            }
+            return protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+        }
+
+        private void disconnect() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Error closing SMTP connection", e);
+            }
+            transport = null;
+        }
+    }
+}
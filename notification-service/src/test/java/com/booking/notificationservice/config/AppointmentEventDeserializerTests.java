@@ -0,0 +1,50 @@
+package com.booking.notificationservice.config;
+
+import com.booking.notificationservice.model.AppointmentEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AppointmentEventDeserializerTests {
+
+    private final AppointmentEventDeserializer deserializer = new AppointmentEventDeserializer();
+
+    @Test
+    void readsTheAppointmentServicePayload() {
+        AppointmentEvent event = read("""
+                {"appointmentId":7,"patientId":3,"doctorId":5,"appointmentDate":"2025-03-03",\
+                "appointmentTime":"09:00","status":"SCHEDULED"}""");
+
+        assertEquals(7L, event.getAppointmentId());
+        assertEquals("2025-03-03", event.getAppointmentDate());
+        assertEquals("SCHEDULED", event.getStatus());
+        // Fields the producer does not send yet stay null
+        assertNull(event.getPatientEmail());
+        assertNull(event.getVersion());
+    }
+
+    @Test
+    void ignoresFieldsAddedByNewerProducers() {
+        AppointmentEvent event = read("""
+                {"appointmentId":7,"status":"CANCELLED","cancelReason":"Patient request","room":{"floor":2}}""");
+
+        assertEquals(7L, event.getAppointmentId());
+        assertEquals("CANCELLED", event.getStatus());
+    }
+
+    @Test
+    void rejectsUnreadablePayloads() {
+        assertThrows(SerializationException.class, () -> read("{\"appointmentId\":"));
+        assertThrows(SerializationException.class, () -> read("{\"appointmentId\":\"not a number\"}"));
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("appointment-created", new byte[0]));
+    }
+
+    private AppointmentEvent read(String json) {
+        return deserializer.deserialize("appointment-created", json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,33 @@
+package com.booking.notificationservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FingerprintSetTests {
+
+    @Test
+    void keepsEveryFingerprintWhileGrowing() {
+        FingerprintSet set = new FingerprintSet(16);
+        for (long i = 0; i < 100_000; i++) {
+            assertTrue(set.add(NotificationDeduplicator.fingerprint(String.valueOf(i), "appointment-created", "1")));
+        }
+        assertFalse(set.add(NotificationDeduplicator.fingerprint("7", "appointment-created", "1")));
+        assertEquals(100_000, set.size());
+
+        for (long i = 0; i < 100_000; i++) {
+            assertTrue(set.contains(NotificationDeduplicator.fingerprint(String.valueOf(i), "appointment-created", "1")));
+        }
+        assertFalse(set.contains(NotificationDeduplicator.fingerprint("7", "appointment-created", "2")));
+    }
+
+    @Test
+    void zeroIsAValidFingerprint() {
+        FingerprintSet set = new FingerprintSet(16);
+        assertFalse(set.contains(0));
+        set.add(0);
+        assertTrue(set.contains(0));
+    }
+}
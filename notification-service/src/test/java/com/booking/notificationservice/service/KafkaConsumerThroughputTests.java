@@ -0,0 +1,117 @@
+package com.booking.notificationservice.service;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Reminder throughput against an embedded broker at several listener
+ * concurrencies, with each send taking as long as a slow SMTP round trip.
+ * The rates are logged for comparison; the assertions check that every
+ * reminder arrives and that sends overlap without outgrowing the dispatch
+ * pool plus the listener threads that run sends when it is saturated.
+ */
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.group-id=throughput-test"
+})
+@EmbeddedKafka(partitions = 6, topics = {"appointment-created", "appointment-reminder", "appointment-cancelled"})
+class KafkaConsumerThroughputTests {
+
+    private static final int MESSAGES = 2_000;
+    private static final long SEND_MILLIS = 5;
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaConsumerThroughputTests.class);
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry registry;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Value("${notification.dispatch.threads:16}")
+    private int dispatchThreads;
+
+    private final AtomicInteger delivered = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    @Test
+    void remindersAreDeliveredAtEveryConcurrency() throws Exception {
+        doAnswer(invocation -> {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(SEND_MILLIS);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            delivered.incrementAndGet();
+            return null;
+        }).when(emailService).sendAppointmentReminder(any(), any(), any(), any());
+
+        for (int concurrency : new int[] {1, 3, 6}) {
+            ConcurrentMessageListenerContainer<?, ?> container =
+                    (ConcurrentMessageListenerContainer<?, ?>) registry.getListenerContainer("appointment-reminder");
+            container.stop();
+            container.setConcurrency(concurrency);
+            container.start();
+            delivered.set(0);
+            peakInFlight.set(0);
+
+            long started = System.nanoTime();
+            produceReminders(concurrency);
+            long deadline = started + TimeUnit.MINUTES.toNanos(2);
+            while (delivered.get() < MESSAGES && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            assertEquals(MESSAGES, delivered.get(), "concurrency " + concurrency);
+            log.info("concurrency={}: {} reminders in {} s ({} msgs/sec), at most {} sends at once",
+                    concurrency, MESSAGES, String.format("%.2f", seconds), Math.round(MESSAGES / seconds),
+                    peakInFlight.get());
+            assertTrue(peakInFlight.get() > 1, "sends never overlapped at concurrency " + concurrency);
+            assertTrue(peakInFlight.get() <= dispatchThreads + concurrency,
+                    peakInFlight.get() + " sends at once at concurrency " + concurrency);
+        }
+    }
+
+    // Appointment ids differ per run so earlier runs' reminders are not deduplicated
+    private void produceReminders(int run) {
+        Map<String, Object> props = KafkaTestUtils.producerProps(broker);
+        try (KafkaProducer<String, String> producer =
+                     new KafkaProducer<>(props, new StringSerializer(), new StringSerializer())) {
+            for (int i = 0; i < MESSAGES; i++) {
+                String appointmentId = String.valueOf(run * MESSAGES + i);
+                producer.send(new ProducerRecord<>("appointment-reminder", appointmentId, """
+                        {"appointmentId":%s,"patientEmail":"patient%s@example.com","doctorName":"Dr. Test",\
+                        "appointmentDate":"2025-01-01","appointmentTime":"10:00"}""".formatted(appointmentId, appointmentId)));
+            }
+            producer.flush();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.booking.notificationservice.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A minimal in-process SMTP server for tests and benchmarks. It accepts any
+ * message, counts connections and messages, and can defer MAIL commands with
+ * 451, reject recipients containing "rejected" with 550, and delay every
+ * reply to stand in for network latency.
+ */
+public class LocalSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "local-smtp");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger maxOpenConnections = new AtomicInteger();
+    private final AtomicInteger messageCount = new AtomicInteger();
+    private final AtomicInteger deferredMailCommands = new AtomicInteger();
+    private volatile long replyDelayMillis;
+
+    public LocalSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        connections.execute(this::accept);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public int getMaxOpenConnections() {
+        return maxOpenConnections.get();
+    }
+
+    public int getMessageCount() {
+        return messageCount.get();
+    }
+
+    // The next count MAIL commands are answered with a transient 451
+    public void deferMailCommands(int count) {
+        deferredMailCommands.set(count);
+    }
+
+    public void setReplyDelayMillis(long replyDelayMillis) {
+        this.replyDelayMillis = replyDelayMillis;
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> session(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void session(Socket socket) {
+        connectionCount.incrementAndGet();
+        maxOpenConnections.accumulateAndGet(openConnections.incrementAndGet(), Math::max);
+        boolean closed = false;
+        try (socket) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = socket.getOutputStream();
+            reply(out, "220 localhost ESMTP");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO", "HELO", "RSET", "NOOP" -> reply(out, "250 localhost");
+                    case "MAIL" -> reply(out, deferredMailCommands.getAndUpdate(n -> Math.max(0, n - 1)) > 0
+                            ? "451 4.7.1 Try again later" : "250 2.1.0 OK");
+                    case "RCPT" -> reply(out, line.contains("rejected")
+                            ? "550 5.1.1 No such user" : "250 2.1.5 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Message content is discarded
+                        }
+                        messageCount.incrementAndGet();
+                        reply(out, "250 2.0.0 Queued");
+                    }
+                    case "QUIT" -> {
+                        // Counted as closed before the reply, so an immediate reconnect is not seen as overlapping
+                        openConnections.decrementAndGet();
+                        closed = true;
+                        reply(out, "221 2.0.0 Bye");
+                        return;
+                    }
+                    default -> reply(out, "500 5.5.1 Unknown command");
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // The client went away
+        } finally {
+            if (!closed) {
+                openConnections.decrementAndGet();
+            }
+        }
+    }
+
+    private void reply(OutputStream out, String reply) throws IOException, InterruptedException {
+        if (replyDelayMillis > 0) {
+            Thread.sleep(replyDelayMillis);
+        }
+        out.write((reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+}
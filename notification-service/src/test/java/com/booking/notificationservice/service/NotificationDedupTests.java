@@ -0,0 +1,87 @@
+package com.booking.notificationservice.service;
+
+import com.booking.notificationservice.model.AppointmentEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Redelivered appointment events send one email per version, and the sent
+ * history is restored from the dedup topic by a new instance.
+ */
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.group-id=dedup-test"
+})
+@EmbeddedKafka(partitions = 1, topics = {"appointment-created", "appointment-reminder", "appointment-cancelled"})
+class NotificationDedupTests {
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private NotificationDeduplicator deduplicator;
+
+    @Autowired
+    private ConsumerFactory<String, AppointmentEvent> consumerFactory;
+
+    @Autowired
+    private KafkaAdmin kafkaAdmin;
+
+    @Test
+    void duplicateEventsSendOneEmailPerVersion() throws Exception {
+        kafkaTemplate.send("appointment-created", "1", created(1, "09:00", 0)).get();
+        kafkaTemplate.send("appointment-created", "1", created(1, "09:00", 0)).get();
+        // Rescheduled, so a new version of the same appointment
+        kafkaTemplate.send("appointment-created", "1", created(1, "10:00", 1)).get();
+        kafkaTemplate.send("appointment-created", "2", created(2, "09:00", 0)).get();
+
+        // Events of one appointment are handled in order, so the duplicate was seen before the reschedule
+        verify(emailService, timeout(10_000))
+                .sendAppointmentConfirmation(eq("patient1@example.com"), any(), any(), eq("10:00"));
+        verify(emailService, times(1))
+                .sendAppointmentConfirmation(eq("patient1@example.com"), any(), any(), eq("09:00"));
+        verify(emailService, timeout(10_000))
+                .sendAppointmentConfirmation(eq("patient2@example.com"), any(), any(), any());
+    }
+
+    @Test
+    void sentHistoryIsRestoredFromTheDedupTopic() throws Exception {
+        deduplicator.markSent("42", "appointment-reminder", "1");
+        kafkaTemplate.flush();
+
+        NotificationDeduplicator restarted = new NotificationDeduplicator(consumerFactory, kafkaTemplate, kafkaAdmin,
+                "notification-sent", 3, 168, 1_000, 10_000);
+        restarted.start();
+        try {
+            assertTrue(restarted.alreadySent("42", "appointment-reminder", "1"));
+            assertFalse(restarted.alreadySent("42", "appointment-reminder", "2"));
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    private static Map<String, Object> created(long appointmentId, String time, long version) {
+        return Map.of("appointmentId", appointmentId, "patientEmail", "patient" + appointmentId + "@example.com",
+                "doctorName", "Smith", "appointmentDate", "2025-03-03", "appointmentTime", time,
+                "status", "SCHEDULED", "version", version);
+    }
+}
@@ -0,0 +1,104 @@
+package com.booking.notificationservice.service;
+
+import com.booking.notificationservice.model.DeadLetter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A failing notification moves through the retry topics to the dead-letter
+ * topic without holding up the appointment topic, and is delivered once
+ * replayed.
+ */
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.group-id=retry-test",
+        "notification.retry.attempts=3",
+        "notification.retry.initial-delay-ms=2000",
+        "notification.retry.multiplier=2",
+        "notification.retry.partitions=1"
+})
+@EmbeddedKafka(partitions = 1, topics = {"appointment-created", "appointment-reminder", "appointment-cancelled"})
+class NotificationRetryTests {
+
+    private static final String BROKEN = "broken@example.com";
+    private static final String WORKING = "patient@example.com";
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private DeadLetterService deadLetterService;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry registry;
+
+    @Test
+    void failedNotificationIsDeadLetteredAndReplayed() throws Exception {
+        doThrow(new MailSendException("Relay unavailable"))
+                .when(emailService).sendAppointmentReminder(eq(BROKEN), any(), any(), any());
+        // The timeouts below measure delivery, not how long the consumer group takes to form
+        for (MessageListenerContainer container : registry.getAllListenerContainers()) {
+            // Every topic in this test has a single partition
+            ContainerTestUtils.waitForAssignment(container, container.getContainerProperties().getTopics().length);
+        }
+
+        kafkaTemplate.send("appointment-reminder", "1", reminder(BROKEN)).get();
+        kafkaTemplate.send("appointment-reminder", "2", reminder(WORKING)).get();
+
+        // The next record on the same partition goes out while the failed one waits for its retries
+        verify(emailService, timeout(1_500)).sendAppointmentReminder(eq(WORKING), any(), any(), any());
+
+        List<DeadLetter> deadLetters = awaitDeadLetters();
+        assertEquals(1, deadLetters.size());
+        assertEquals("appointment-reminder", deadLetters.get(0).getSourceTopic());
+        assertEquals("1", deadLetters.get(0).getAppointmentKey());
+        assertTrue(deadLetters.get(0).getExceptionMessage().contains("Relay unavailable"));
+        assertEquals(MailSendException.class.getName(), deadLetters.get(0).getExceptionClass());
+        // The appointment topic attempt plus the three attempts on the retry topics
+        verify(emailService, timeout(1_000).times(4)).sendAppointmentReminder(eq(BROKEN), any(), any(), any());
+
+        doNothing().when(emailService).sendAppointmentReminder(eq(BROKEN), any(), any(), any());
+        assertEquals(1, deadLetterService.replay(100));
+
+        verify(emailService, timeout(10_000).times(5)).sendAppointmentReminder(eq(BROKEN), any(), any(), any());
+        assertTrue(deadLetterService.findPending(100).isEmpty());
+    }
+
+    private List<DeadLetter> awaitDeadLetters() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        List<DeadLetter> deadLetters = deadLetterService.findPending(100);
+        while (deadLetters.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(250);
+            deadLetters = deadLetterService.findPending(100);
+        }
+        return deadLetters;
+    }
+
+    private static Map<String, Object> reminder(String patientEmail) {
+        return Map.of("patientEmail", patientEmail, "doctorName", "Smith",
+                "appointmentDate", "2025-03-03", "appointmentTime", "09:00");
+    }
+}
@@ -0,0 +1,138 @@
+package com.booking.notificationservice.service;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Connection reuse, concurrency limits and 4xx backoff against an in-process
+ * SMTP server.
+ */
+class SmtpDeliveryEngineTests {
+
+    private LocalSmtpServer server;
+    private SmtpDeliveryEngine engine;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new LocalSmtpServer();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        if (engine != null) {
+            engine.shutdown();
+        }
+        server.close();
+    }
+
+    @Test
+    void messagesShareAPoolOfConnections() throws Exception {
+        engine = engine(2, 100, 50);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<?>> sends = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String to = "patient" + i + "@example.com";
+            sends.add(callers.submit(() -> engine.send(message(to))));
+        }
+        for (Future<?> send : sends) {
+            send.get();
+        }
+        callers.shutdown();
+
+        assertEquals(200, server.getMessageCount());
+        assertTrue(server.getMaxOpenConnections() <= 2, "open connections " + server.getMaxOpenConnections());
+        // Two connections, each renewed once after 100 messages at most
+        assertTrue(server.getConnectionCount() <= 4, "connections " + server.getConnectionCount());
+    }
+
+    @Test
+    void deferredMessagesAreRetriedWithBackoff() throws Exception {
+        engine = engine(1, 100, 50);
+        server.deferMailCommands(3);
+
+        long started = System.currentTimeMillis();
+        engine.send(message("patient@example.com"));
+
+        assertEquals(1, server.getMessageCount());
+        // 50 + 100 + 200 ms between the three deferrals
+        assertTrue(System.currentTimeMillis() - started >= 350);
+    }
+
+    @Test
+    void rejectedRecipientsFailWithoutRetry() throws Exception {
+        engine = engine(1, 100, 50);
+
+        assertThrows(MailSendException.class, () -> engine.send(message("rejected@example.com")));
+        engine.send(message("patient@example.com"));
+
+        assertEquals(1, server.getMessageCount());
+    }
+
+    @Test
+    void sendsRacingAShutdownNeverHang() throws Exception {
+        engine = engine(2, 100, 50);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<?>> sends = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String to = "patient" + i + "@example.com";
+            sends.add(callers.submit(() -> {
+                try {
+                    engine.send(message(to));
+                } catch (MailSendException e) {
+                    // Refused or abandoned by the shutdown
+                }
+            }));
+        }
+        engine.shutdown();
+        for (Future<?> send : sends) {
+            send.get(5, TimeUnit.SECONDS);
+        }
+        callers.shutdown();
+
+        assertThrows(MailSendException.class, () -> engine.send(message("late@example.com")));
+    }
+
+    private SmtpDeliveryEngine engine(int maxConnections, int messagesPerConnection, long initialBackoffMillis) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(server.getPort());
+        Properties properties = new Properties();
+        properties.put("mail.smtp.timeout", "5000");
+        mailSender.setJavaMailProperties(properties);
+        return new SmtpDeliveryEngine(mailSender, maxConnections, messagesPerConnection, 30_000,
+                5, initialBackoffMillis, 1_000);
+    }
+
+    private MimeMessage message(String to) {
+        try {
+            MimeMessage message = engine.createMimeMessage();
+            message.setFrom(new InternetAddress("noreply@example.com"));
+            message.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
+            message.setSubject("Appointment Reminder");
+            message.setText("See you soon");
+            return message;
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
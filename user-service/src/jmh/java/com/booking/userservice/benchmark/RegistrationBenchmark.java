@@ -0,0 +1,81 @@
+package com.booking.userservice.benchmark;
+
+import com.booking.userservice.UserServiceApplication;
+import com.booking.userservice.model.User;
+import com.booking.userservice.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registration throughput against an embedded Postgres, comparing the old
+ * check-then-insert path with the insert-first path used by AuthController.
+ * Password hashing is identical for both and left out; the score is
+ * registrations per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(UserServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=postgres",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false")
+                .run();
+        userRepository = context.getBean(UserRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public User checkThenInsert() {
+        User user = newUser();
+        if (userRepository.existsByUsername(user.getUsername()) || userRepository.existsByEmail(user.getEmail())) {
+            return null;
+        }
+        return userRepository.save(user);
+    }
+
+    @Benchmark
+    public User insertFirst() {
+        try {
+            return userRepository.save(newUser());
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+
+    private User newUser() {
+        long n = sequence.incrementAndGet();
+        User user = new User("user" + n, "n/a", "user" + n + "@example.com", "First", "Last", "555-0100");
+        user.setRoles(Set.of("PATIENT", "DOCTOR"));
+        return user;
+    }
+}
@@ -4,50 +4,83 @@ import com.booking.userservice.dto.UserDto;
 import com.booking.userservice.model.User;
 import com.booking.userservice.repository.UserRepository;
 import com.booking.userservice.security.JwtTokenUtil;
+import com.booking.userservice.security.PasswordHashingExecutor;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenUtil jwtTokenUtil;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final AsyncTaskExecutor taskExecutor;
+    // Compared against when the username is unknown, so both cases take one BCrypt check
+    private final String unknownUserHash;
 
-    public AuthController(AuthenticationManager authenticationManager, 
-                         UserRepository userRepository, 
+    public AuthController(UserRepository userRepository,
                          PasswordEncoder passwordEncoder, 
-                         JwtTokenUtil jwtTokenUtil) {
-        this.authenticationManager = authenticationManager;
+                         JwtTokenUtil jwtTokenUtil,
+                         PasswordHashingExecutor passwordHashingExecutor,
+                         @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                         AsyncTaskExecutor taskExecutor) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenUtil = jwtTokenUtil;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.taskExecutor = taskExecutor;
+        this.unknownUserHash = passwordEncoder.encode("unknown-user-" + UUID.randomUUID());
     }
 
+    // Only BCrypt runs on the hashing pool; repository calls stay on the request thread or the task executor
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody UserDto.LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody UserDto.LoginRequest loginRequest) {
+        Optional<User> account = userRepository.findByUsername(loginRequest.getUsername());
+        String storedHash = account.map(User::getPassword).orElse(unknownUserHash);
+        return passwordHashingExecutor.submit(() -> verify(loginRequest.getPassword(), storedHash))
+                .thenApplyAsync(check -> login(account, check), taskExecutor);
+    }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        org.springframework.security.core.userdetails.User userDetails = 
-                (org.springframework.security.core.userdetails.User) authentication.getPrincipal();
-        
-        String jwt = jwtTokenUtil.generateToken(userDetails);
+    @PostMapping("/register")
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody UserDto.RegisterRequest registerRequest) {
+        return passwordHashingExecutor.submit(() -> passwordEncoder.encode(registerRequest.getPassword()))
+                .thenApplyAsync(hash -> register(registerRequest, hash), taskExecutor);
+    }
+
+    // The rehash for an outdated cost factor is BCrypt work too, so it is done here
+    private PasswordCheck verify(String rawPassword, String storedHash) {
+        if (!passwordEncoder.matches(rawPassword, storedHash)) {
+            return new PasswordCheck(false, null);
+        }
+        return new PasswordCheck(true,
+                passwordEncoder.upgradeEncoding(storedHash) ? passwordEncoder.encode(rawPassword) : null);
+    }
+
+    private ResponseEntity<?> login(Optional<User> account, PasswordCheck check) {
+        if (account.isEmpty() || !check.matches()) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        User user = account.get();
+        if (check.upgradedHash() != null) {
+            user.setPassword(check.upgradedHash());
+            userRepository.save(user);
+        }
         
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        String jwt = jwtTokenUtil.generateToken(user.getUsername(), user.getId(), user.getRoles());
         
         return ResponseEntity.ok(new UserDto.JwtResponse(
                 jwt, 
@@ -57,22 +90,12 @@ public class AuthController {
                 user.getRoles()));
     }
 
-    @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody UserDto.RegisterRequest registerRequest) {
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
-            return ResponseEntity.badRequest()
-                    .body(new UserDto.MessageResponse("Error: Username is already taken!"));
-        }
-
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            return ResponseEntity.badRequest()
-                    .body(new UserDto.MessageResponse("Error: Email is already in use!"));
-        }
-
+    // Insert first and let the unique constraints skip duplicates, which is race-free
+    private ResponseEntity<?> register(UserDto.RegisterRequest registerRequest, String passwordHash) {
         // Create new user's account
         User user = new User(
                 registerRequest.getUsername(),
-                passwordEncoder.encode(registerRequest.getPassword()),
+                passwordHash,
                 registerRequest.getEmail(),
                 registerRequest.getFirstName(),
                 registerRequest.getLastName(),
@@ -99,8 +122,19 @@ public class AuthController {
         }
 
         user.setRoles(roles);
-        userRepository.save(user);
+        if (!userRepository.insertIfAbsent(user)) {
+            // Only a rejected insert pays for finding out which field was taken
+            if (userRepository.existsByUsername(user.getUsername())) {
+                return ResponseEntity.badRequest()
+                        .body(new UserDto.MessageResponse("Error: Username is already taken!"));
+            }
+            return ResponseEntity.badRequest()
+                    .body(new UserDto.MessageResponse("Error: Email is already in use!"));
+        }
 
         return ResponseEntity.ok(new UserDto.MessageResponse("User registered successfully!"));
     }
-}
\ No newline at end of file
+
+    private record PasswordCheck(boolean matches, String upgradedHash) {
+    }
+}
@@ -3,6 +3,7 @@ package com.booking.userservice.controller;
 import com.booking.userservice.dto.UserDto;
 import com.booking.userservice.model.User;
 import com.booking.userservice.repository.UserRepository;
+import com.booking.userservice.security.UserDetailsCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -14,9 +15,11 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
-    public UserController(UserRepository userRepository) {
+    public UserController(UserRepository userRepository, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @GetMapping("/profile")
@@ -61,10 +64,35 @@ public class UserController {
         }
         
         userRepository.save(user);
+        userDetailsCache.evict(username);
         
         return ResponseEntity.ok(new UserDto.MessageResponse("Profile updated successfully"));
     }
     
+    /**
+     * Email and name of one user, for services that notify the user about
+     * something the caller did. Only the user themselves or an admin may ask.
+     */
+    @GetMapping("/{id}/contact")
+    public ResponseEntity<?> getUserContact(@PathVariable Long id) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+
+        return userRepository.findById(id)
+                .filter(user -> admin || user.getUsername().equals(authentication.getName()))
+                .map(user -> {
+                    UserDto.UserProfileResponse contact = new UserDto.UserProfileResponse();
+                    contact.setId(user.getId());
+                    contact.setUsername(user.getUsername());
+                    contact.setEmail(user.getEmail());
+                    contact.setFirstName(user.getFirstName());
+                    contact.setLastName(user.getLastName());
+                    return ResponseEntity.ok(contact);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/admin/all")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getAllUsers() {
@@ -1,6 +1,7 @@
 package com.booking.userservice.exception;
 
 import com.booking.userservice.dto.UserDto;
+import com.booking.userservice.security.PasswordHashingSaturatedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -34,6 +35,15 @@ public class GlobalExceptionHandler {
                 .body(new UserDto.MessageResponse("Invalid username or password"));
     }
 
+    @ExceptionHandler(PasswordHashingSaturatedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<?> handlePasswordHashingSaturated(PasswordHashingSaturatedException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(new UserDto.MessageResponse(ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<?> handleValidationExceptions(MethodArgumentNotValidException ex) {
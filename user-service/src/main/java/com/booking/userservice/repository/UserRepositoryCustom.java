@@ -0,0 +1,14 @@
+package com.booking.userservice.repository;
+
+import com.booking.userservice.model.User;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Inserts a new user with its roles unless the username or email is
+     * already taken, and sets the generated id on success.
+     *
+     * @return false if a unique constraint would have been violated
+     */
+    boolean insertIfAbsent(User user);
+}
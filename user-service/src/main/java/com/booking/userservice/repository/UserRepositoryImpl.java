@@ -0,0 +1,46 @@
+package com.booking.userservice.repository;
+
+import com.booking.userservice.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Duplicates are skipped by ON CONFLICT rather than rejected with an
+ * exception, so a taken name is not logged as an SQL error.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public boolean insertIfAbsent(User user) {
+        List<?> ids = entityManager.createNativeQuery("""
+                        INSERT INTO users (username, password, email, first_name, last_name, phone_number)
+                        VALUES (:username, :password, :email, :firstName, :lastName, :phoneNumber)
+                        ON CONFLICT DO NOTHING
+                        RETURNING id""")
+                .setParameter("username", user.getUsername())
+                .setParameter("password", user.getPassword())
+                .setParameter("email", user.getEmail())
+                .setParameter("firstName", user.getFirstName())
+                .setParameter("lastName", user.getLastName())
+                .setParameter("phoneNumber", user.getPhoneNumber())
+                .getResultList();
+        if (ids.isEmpty()) {
+            return false;
+        }
+        user.setId(((Number) ids.get(0)).longValue());
+        for (String role : user.getRoles()) {
+            entityManager.createNativeQuery("INSERT INTO user_roles (user_id, role) VALUES (:userId, :role)")
+                    .setParameter("userId", user.getId())
+                    .setParameter("role", role)
+                    .executeUpdate();
+        }
+        return true;
+    }
+}
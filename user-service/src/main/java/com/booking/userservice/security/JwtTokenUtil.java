@@ -1,52 +1,148 @@
 package com.booking.userservice.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies JWTs.
+ *
+ * Key material and the parser are built once; both are thread-safe and
+ * shared across requests. Tokens carry the signing key id in their "kid"
+ * header. New tokens are signed with {@code jwt.secret}, while the keys
+ * listed in {@code jwt.verification-keys} ("kid:secret,...") are still
+ * accepted, so a secret can be rotated without logging everyone out.
+ */
 @Component
 public class JwtTokenUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    // Comma-separated roles, read by the api-gateway into X-Auth-User-Role
+    public static final String ROLE_CLAIM = "role";
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final Long expiration;
+    private final String signingKeyId;
+    private final Key signingKey;
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final Map<String, Key> verificationKeys = new HashMap<>();
+    private final JwtParser parser;
+
+    public JwtTokenUtil(@Value("${jwt.secret}") String secret,
+                        @Value("${jwt.expiration}") Long expiration,
+                        @Value("${jwt.key-id:primary}") String signingKeyId,
+                        @Value("${jwt.verification-keys:}") String additionalKeys) {
+        this.expiration = expiration;
+        this.signingKeyId = signingKeyId;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        // Strongest HMAC variant the secret is long enough for
+        this.signatureAlgorithm = SignatureAlgorithm.forSigningKey(signingKey);
+
+        verificationKeys.put(signingKeyId, signingKey);
+        for (String entry : additionalKeys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator > 0) {
+                verificationKeys.put(entry.substring(0, separator).trim(),
+                        Keys.hmacShaKeyFor(entry.substring(separator + 1).trim().getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        // Tokens issued before key ids were introduced have no kid
+                        String keyId = header.getKeyId() != null ? header.getKeyId() : JwtTokenUtil.this.signingKeyId;
+                        Key key = verificationKeys.get(keyId);
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key id: " + keyId);
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Issues a token that carries the user id and roles, so requests can be
+     * authenticated from the token alone.
+     */
+    public String generateToken(String username, Long userId, Collection<String> roles) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, userId);
+        claims.put(ROLES_CLAIM, List.copyOf(roles));
+        claims.put(ROLE_CLAIM, String.join(",", new TreeSet<>(roles)));
+        return createToken(claims, username);
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKeyId)
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS512)
+                .signWith(signingKey, signatureAlgorithm)
                 .compact();
     }
 
+    /**
+     * Verifies signature and expiry in a single parse and returns the claims.
+     *
+     * @throws JwtException if the token is malformed, forged or expired
+     */
+    public Claims validateAndGetClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Authorities embedded in verified claims, or null for tokens issued
+     * without a roles claim.
+     */
+    public List<GrantedAuthority> getAuthorities(Claims claims) {
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (roles == null) {
+            return null;
+        }
+        return roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+    }
+
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        try {
+            return userDetails.getUsername().equals(validateAndGetClaims(token).getSubject());
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
     }
 
     public String extractUsername(String token) {
@@ -58,20 +154,6 @@ public class JwtTokenUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return claimsResolver.apply(validateAndGetClaims(token));
     }
-}
\ No newline at end of file
+}
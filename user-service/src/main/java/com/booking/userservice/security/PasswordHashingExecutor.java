@@ -0,0 +1,112 @@
+package com.booking.userservice.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt-heavy work (login, registration) on a dedicated pool sized to
+ * the CPU, so hash storms cannot occupy every request thread.
+ *
+ * Admission is adaptive: the expected queue wait is estimated from the
+ * current queue depth and a moving average of recent task durations, and
+ * work is refused up front once that estimate exceeds the wait budget or
+ * the queue is full. Callers turn the refusal into a 503.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    // Weight of the latest sample in the moving average of task duration
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long maxWaitNanos;
+    private volatile double averageTaskNanos;
+
+    private final Timer hashTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${security.password-hashing.threads:0}") int configuredThreads,
+                                   @Value("${security.password-hashing.queue-capacity:256}") int queueCapacity,
+                                   @Value("${security.password-hashing.max-queue-wait:PT2S}") Duration maxQueueWait) {
+        this.threads = configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors();
+        this.maxWaitNanos = maxQueueWait.toNanos();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = Timer.builder("auth.password.hash.duration")
+                .description("Time spent running password hashing work")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.password.hash.queue.wait")
+                .description("Time password hashing work waited for a worker")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .description("Password hashing work refused because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedules {@code work} on the hashing pool.
+     *
+     * @throws PasswordHashingSaturatedException if the work would wait longer than the budget
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        // Every queued task must start before this one, and the workers take them threads at a time
+        double expectedWait = executor.getQueue().size() * averageTaskNanos / threads;
+        if (expectedWait > maxWaitNanos) {
+            rejectedCounter.increment();
+            throw new PasswordHashingSaturatedException();
+        }
+
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return work.get();
+                } finally {
+                    long duration = System.nanoTime() - startedAt;
+                    hashTimer.record(duration, TimeUnit.NANOSECONDS);
+                    averageTaskNanos = averageTaskNanos == 0
+                            ? duration
+                            : EWMA_ALPHA * duration + (1 - EWMA_ALPHA) * averageTaskNanos;
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingSaturatedException();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
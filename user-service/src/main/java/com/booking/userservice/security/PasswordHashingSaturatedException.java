@@ -0,0 +1,8 @@
+package com.booking.userservice.security;
+
+public class PasswordHashingSaturatedException extends RuntimeException {
+
+    public PasswordHashingSaturatedException() {
+        super("Authentication service is busy, please retry shortly");
+    }
+}
@@ -0,0 +1,43 @@
+package com.booking.userservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache in front of {@link UserDetailsService} for requests that
+ * cannot be authenticated from token claims alone. Anything that changes a
+ * user's roles or profile must call {@link #evict(String)}.
+ *
+ * Deliberately not a UserDetailsService itself, so the login path keeps
+ * reading credentials straight from the database.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(UserDetailsService userDetailsService,
+                            @Value("${security.user-cache.ttl:PT5M}") Duration ttl,
+                            @Value("${security.user-cache.maximum-size:10000}") long maximumSize) {
+        this.userDetailsService = userDetailsService;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public UserDetails get(String username) {
+        return cache.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+}
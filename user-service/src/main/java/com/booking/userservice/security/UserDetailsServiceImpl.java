@@ -36,4 +36,4 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 user.getPassword(),
                 authorities);
     }
-}
\ No newline at end of file
+}
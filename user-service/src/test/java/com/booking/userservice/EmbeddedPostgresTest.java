@@ -0,0 +1,49 @@
+package com.booking.userservice;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+
+/**
+ * Base for tests that need the full application against a real database.
+ * One embedded Postgres is started per test JVM and every subclass shares
+ * the same configuration, so Spring reuses a single application context.
+ */
+// The lowest BCrypt cost keeps registrations and logins fast
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "security.bcrypt.strength=4"
+})
+@AutoConfigureMockMvc
+public abstract class EmbeddedPostgresTest {
+
+    private static final EmbeddedPostgres postgres = start();
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres started = EmbeddedPostgres.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException e) {
+                    // The JVM is exiting; the data directory is temporary
+                }
+            }));
+            return started;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+                () -> postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+}
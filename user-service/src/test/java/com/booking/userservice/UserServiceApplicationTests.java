@@ -1,10 +1,8 @@
 package com.booking.userservice;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class UserServiceApplicationTests {
+class UserServiceApplicationTests extends EmbeddedPostgresTest {
 
     @Test
     void contextLoads() {
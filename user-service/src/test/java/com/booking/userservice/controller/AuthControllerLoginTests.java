@@ -0,0 +1,67 @@
+package com.booking.userservice.controller;
+
+import com.booking.userservice.EmbeddedPostgresTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Login checks the password on the hashing pool against the account read on
+ * the request thread, and answers unknown users like wrong passwords.
+ */
+class AuthControllerLoginTests extends EmbeddedPostgresTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void registerUser() throws Exception {
+        // Registering twice only reports the name as taken
+        perform("/api/auth/register", """
+                {"username":"loginuser","password":"secret-password","email":"loginuser@example.com",
+                 "firstName":"Login","lastName":"User"}""");
+    }
+
+    @Test
+    void correctPasswordReturnsAToken() throws Exception {
+        perform("/api/auth/login", """
+                {"username":"loginuser","password":"secret-password"}""")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.email").value("loginuser@example.com"))
+                .andExpect(jsonPath("$.roles[0]").value("PATIENT"));
+    }
+
+    @Test
+    void wrongPasswordIsUnauthorized() throws Exception {
+        perform("/api/auth/login", """
+                {"username":"loginuser","password":"wrong-password"}""")
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid username or password"));
+    }
+
+    @Test
+    void unknownUserIsUnauthorized() throws Exception {
+        perform("/api/auth/login", """
+                {"username":"nobody","password":"secret-password"}""")
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid username or password"));
+    }
+
+    private ResultActions perform(String path, String body) throws Exception {
+        MvcResult started = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
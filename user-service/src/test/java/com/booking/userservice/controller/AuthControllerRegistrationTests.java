@@ -0,0 +1,102 @@
+package com.booking.userservice.controller;
+
+import com.booking.userservice.EmbeddedPostgresTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Duplicate usernames and emails are rejected by the unique constraints and
+ * reported as 400s naming the field, including when the duplicates race,
+ * without logging SQL errors.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class AuthControllerRegistrationTests extends EmbeddedPostgresTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void takenUsernameIsReported() throws Exception {
+        register("takenname", "takenname@example.com").andExpect(status().isOk());
+
+        register("takenname", "other-takenname@example.com")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Error: Username is already taken!"));
+    }
+
+    @Test
+    void duplicatesAreNotLoggedAsSqlErrors(CapturedOutput output) throws Exception {
+        register("quietname", "quietname@example.com").andExpect(status().isOk());
+
+        register("quietname", "other-quietname@example.com").andExpect(status().isBadRequest());
+
+        assertFalse(output.getAll().contains("SqlExceptionHelper"));
+    }
+
+    @Test
+    void emailInUseIsReported() throws Exception {
+        register("firstowner", "shared@example.com").andExpect(status().isOk());
+
+        register("secondowner", "shared@example.com")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Error: Email is already in use!"));
+    }
+
+    @Test
+    void concurrentRegistrationsOfOneNameCreateOneAccount() throws Exception {
+        int clients = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                String email = "racer" + i + "@example.com";
+                statuses.add(pool.submit(() -> register("racer", email).andReturn().getResponse().getStatus()));
+            }
+            int created = 0;
+            int rejected = 0;
+            for (Future<Integer> status : statuses) {
+                switch (status.get()) {
+                    case 200 -> created++;
+                    case 400 -> rejected++;
+                    default -> throw new AssertionError("Unexpected status " + status.get());
+                }
+            }
+            assertEquals(1, created);
+            assertEquals(clients - 1, rejected);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private ResultActions register(String username, String email) throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"username":"%s","password":"secret-password","email":"%s",
+                                 "firstName":"Test","lastName":"User"}""".formatted(username, email)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
@@ -0,0 +1,110 @@
+package com.booking.userservice.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Requests are authenticated from the verified claims alone when the token
+ * carries roles; otherwise, or with stateless auth switched off, the user is
+ * read through {@link UserDetailsCache}.
+ */
+class JwtAuthenticationFilterTests {
+
+    private final JwtTokenUtil jwtTokenUtil =
+            new JwtTokenUtil("filterTestSigningSecretThatIsLongEnoughForHs256", 3_600_000L, "primary", "");
+    private final UserDetailsCache userDetailsCache = mock(UserDetailsCache.class);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rolesComeFromClaimsWithoutLoadingTheUser() throws Exception {
+        String token = jwtTokenUtil.generateToken("alice", 1L, List.of("USER", "ADMIN"));
+
+        Authentication authentication = authenticate(filter(true), token);
+
+        assertEquals("alice", authentication.getPrincipal());
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), authorities(authentication));
+        verify(userDetailsCache, never()).get(any());
+    }
+
+    @Test
+    void tokensWithoutRolesFallBackToTheCache() throws Exception {
+        UserDetails bob = User.withUsername("bob").password("x").roles("DOCTOR").build();
+        when(userDetailsCache.get("bob")).thenReturn(bob);
+        String token = jwtTokenUtil.generateToken(bob);
+
+        Authentication authentication = authenticate(filter(true), token);
+
+        assertEquals(bob, authentication.getPrincipal());
+        assertEquals(List.of("ROLE_DOCTOR"), authorities(authentication));
+    }
+
+    @Test
+    void statelessAuthCanBeSwitchedOff() throws Exception {
+        UserDetails carol = User.withUsername("carol").password("x").roles("USER").build();
+        when(userDetailsCache.get("carol")).thenReturn(carol);
+        // The token still claims ADMIN, but the stored roles win
+        String token = jwtTokenUtil.generateToken("carol", 3L, List.of("ADMIN"));
+
+        Authentication authentication = authenticate(filter(false), token);
+
+        assertEquals(carol, authentication.getPrincipal());
+        assertEquals(List.of("ROLE_USER"), authorities(authentication));
+    }
+
+    @Test
+    void invalidTokenLeavesTheRequestAnonymous() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer not.a.token");
+
+        filter(true).doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+        verify(userDetailsCache, never()).get(any());
+    }
+
+    private JwtAuthenticationFilter filter(boolean statelessAuth) {
+        return new JwtAuthenticationFilter(jwtTokenUtil, userDetailsCache, statelessAuth);
+    }
+
+    private Authentication authenticate(JwtAuthenticationFilter filter, String token) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest(), "request was not passed down the chain");
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        return authentication;
+    }
+
+    private static List<String> authorities(Authentication authentication) {
+        return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
@@ -0,0 +1,99 @@
+package com.booking.userservice.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tokens are verified in one parse against whichever active key their kid
+ * names, so a secret can be rotated while tokens signed with the old one are
+ * still outstanding.
+ */
+class JwtTokenUtilTests {
+
+    private static final String OLD_SECRET = "retiredSigningSecretThatIsLongEnoughForHs256";
+    private static final String NEW_SECRET = "currentSigningSecretThatIsLongEnoughForHs256";
+    private static final long ONE_HOUR = 3_600_000L;
+
+    private final JwtTokenUtil beforeRotation = new JwtTokenUtil(OLD_SECRET, ONE_HOUR, "2024", "");
+    private final JwtTokenUtil afterRotation = new JwtTokenUtil(NEW_SECRET, ONE_HOUR, "2025", "2024:" + OLD_SECRET);
+
+    @Test
+    void oneParseYieldsSubjectExpiryAndRoles() {
+        String token = afterRotation.generateToken("alice", 42L, List.of("USER", "ADMIN"));
+
+        Claims claims = afterRotation.validateAndGetClaims(token);
+
+        assertEquals("alice", claims.getSubject());
+        assertEquals(42, claims.get(JwtTokenUtil.USER_ID_CLAIM, Integer.class));
+        assertEquals("ADMIN,USER", claims.get(JwtTokenUtil.ROLE_CLAIM, String.class));
+        assertTrue(claims.getExpiration().after(new Date()));
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"),
+                afterRotation.getAuthorities(claims).stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void tokensSignedWithARetiredKeyStillVerify() {
+        String issuedBeforeRotation = beforeRotation.generateToken("bob", 7L, List.of("USER"));
+
+        assertEquals("bob", afterRotation.validateAndGetClaims(issuedBeforeRotation).getSubject());
+    }
+
+    @Test
+    void newTokensCarryTheCurrentKeyId() {
+        String token = afterRotation.generateToken("carol", 8L, List.of("USER"));
+
+        assertThrows(JwtException.class, () -> beforeRotation.validateAndGetClaims(token));
+    }
+
+    @Test
+    void tokensWithoutKeyIdVerifyWithTheSigningKey() {
+        String legacy = Jwts.builder()
+                .setSubject("dave")
+                .setExpiration(new Date(System.currentTimeMillis() + ONE_HOUR))
+                .signWith(Keys.hmacShaKeyFor(NEW_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        Claims claims = afterRotation.validateAndGetClaims(legacy);
+
+        assertEquals("dave", claims.getSubject());
+        assertNull(afterRotation.getAuthorities(claims));
+    }
+
+    @Test
+    void unknownKeyIdIsRejected() {
+        JwtTokenUtil foreign = new JwtTokenUtil(NEW_SECRET, ONE_HOUR, "someone-else", "");
+        String token = foreign.generateToken("erin", 9L, List.of("USER"));
+
+        assertThrows(JwtException.class, () -> afterRotation.validateAndGetClaims(token));
+    }
+
+    @Test
+    void tamperedAndExpiredTokensAreRejected() {
+        String token = afterRotation.generateToken("frank", 10L, List.of("USER"));
+        String[] parts = token.split("\\.");
+        String forged = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+        String expired = new JwtTokenUtil(NEW_SECRET, -1_000L, "2025", "").generateToken("frank", 10L, List.of("USER"));
+
+        assertThrows(SignatureException.class, () -> afterRotation.validateAndGetClaims(forged));
+        assertThrows(ExpiredJwtException.class, () -> afterRotation.validateAndGetClaims(expired));
+        assertFalse(afterRotation.validateToken(expired,
+                User.withUsername("frank").password("x").roles("USER").build()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.booking.userservice.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingExecutorTests {
+
+    @Test
+    void rejectsWorkOnceTheQueueIsFull() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(registry, 1, 1, Duration.ofMinutes(1));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> running = executor.submit(() -> {
+                await(release);
+                return "first";
+            });
+            CompletableFuture<String> queued = executor.submit(() -> "second");
+
+            assertThrows(PasswordHashingSaturatedException.class, () -> executor.submit(() -> "third"));
+            assertEquals(1.0, registry.counter("auth.password.hash.rejected").count());
+
+            release.countDown();
+            assertEquals("first", running.get(5, TimeUnit.SECONDS));
+            assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsWorkExpectedToExceedTheWaitBudget() throws Exception {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(new SimpleMeterRegistry(), 1, 100, Duration.ofMillis(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.submit(() -> {
+                sleep(50);
+                return null;
+            }).get(5, TimeUnit.SECONDS);
+
+            // Nothing is queued, so work is admitted even though it takes longer than the budget
+            CompletableFuture<String> running = executor.submit(() -> {
+                started.countDown();
+                await(release);
+                return "running";
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = executor.submit(() -> "queued");
+
+            // One ~50ms task ahead on one thread exceeds the 1ms budget
+            assertThrows(PasswordHashingSaturatedException.class, () -> executor.submit(() -> null));
+
+            release.countDown();
+            assertEquals("running", running.get(5, TimeUnit.SECONDS));
+            assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}